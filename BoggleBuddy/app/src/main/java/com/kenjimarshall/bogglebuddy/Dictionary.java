@@ -0,0 +1,100 @@
+package com.kenjimarshall.bogglebuddy;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+
+/**
+ * Process-wide word list, loaded the first time it's needed and then shared by every solver and validator.
+ * This is the Android side of dictionary loading: it finds the bundled assets and hands them to
+ * DictionaryLoader in the core module.
+ *
+ * The build compiles NWL2018 into a binary DAWG image (see DictionaryCompiler), stored uncompressed in the
+ * APK so it can be memory-mapped and queried in place. If the image is missing the DAWG is built from the
+ * plain-text word list instead. Tries are never modified after they are built, so any number of
+ * threads can read the shared instance.
+ */
+public class Dictionary {
+
+    private static final String WORDLIST = "nwl2018.txt";
+    private static final String IMAGE = "nwl2018.dict";
+
+    private static volatile Trie instance;
+
+    private Dictionary() {}
+
+    /**
+     * @param context any context; only its application assets are used
+     * @return the shared dictionary, loading it on the first call
+     */
+    public static Trie get(Context context) {
+        Trie trie = instance;
+        if (trie == null) {
+            synchronized (Dictionary.class) {
+                trie = instance;
+                if (trie == null) {
+                    trie = load(context.getApplicationContext());
+                    if (trie.getWordCount() > 0) { // don't hold on to a failed load
+                        instance = trie;
+                    }
+                }
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * @return true if the shared dictionary has already been loaded
+     */
+    public static boolean isLoaded() {
+        return instance != null;
+    }
+
+    private static Trie load(Context context) {
+        AssetManager assets = context.getAssets();
+        try {
+            return loadImage(assets, IMAGE);
+        } catch (IOException e) {
+            Log.w("Dictionary", "No usable dictionary image, building from word list", e);
+        }
+        try {
+            return DictionaryLoader.readWordList(assets.open(WORDLIST));
+        } catch (IOException e) {
+            Log.e("Dictionary", "Could not read word list", e);
+            return Trie.build(Collections.<String>emptyList());
+        }
+    }
+
+    /**
+     * Memory-map an image asset. Only works for assets stored uncompressed (see aaptOptions in
+     * app/build.gradle); compressed assets are read into a direct buffer instead.
+     */
+    private static Trie loadImage(AssetManager assets, String name) throws IOException {
+        ByteBuffer mapped;
+        try {
+            mapped = mapAsset(assets, name);
+        } catch (IOException compressed) {
+            return DictionaryLoader.readImage(assets.open(name));
+        }
+        return DictionaryLoader.load(mapped);
+    }
+
+    private static MappedByteBuffer mapAsset(AssetManager assets, String name) throws IOException {
+        AssetFileDescriptor afd = assets.openFd(name);
+        FileInputStream stream = afd.createInputStream();
+        try {
+            FileChannel channel = stream.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+        } finally {
+            stream.close(); // mapping stays valid after the channel is closed
+        }
+    }
+}
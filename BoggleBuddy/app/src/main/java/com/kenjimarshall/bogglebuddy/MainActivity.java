@@ -11,6 +11,8 @@ import androidx.core.view.ViewCompat;
 import android.app.AlertDialog;
 import android.app.SearchManager;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 
 import android.app.Activity;
 import android.content.Context;
@@ -18,15 +20,20 @@ import android.content.Intent;
 import android.content.res.ColorStateList;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.Typeface;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Environment;
 import android.provider.MediaStore;
+import android.text.Editable;
 import android.text.SpannableString;
+import android.text.SpannableStringBuilder;
 import android.text.Spanned;
+import android.text.TextWatcher;
 import android.text.TextUtils;
 import android.text.method.LinkMovementMethod;
 import android.text.style.ClickableSpan;
+import android.text.style.StyleSpan;
 import android.text.style.URLSpan;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -59,8 +66,13 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -121,10 +133,9 @@ public class MainActivity extends AppCompatActivity {
     final int CAMERA_CAPTURE = 1024; // Code for activity resolution
     final int BOARD_SIZE = 4;
 
-    final HashSet<String> VALID_CHARS = new HashSet<>(Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l", "m", "n",
-            "o", "p", "qu", "r", "u", "s", "t", "v", "w", "x", "y", "z"));
-    final String[] VALID_CHARS_PRETTY = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L",
-            "M", "N", "O", "P", "Qu", "U", "R", "S", "T", "W", "X", "Y", "Z"}; // more handsome
+    final double OCR_MIN_CONFIDENCE = 0.25; // words whose readings are this much less likely than the tiles shown aren't listed
+    final int SEARCH_RESULT_LIMIT = 200; // most words listed for a pattern or anagram search
+    final BoardGenerator.TileModel BOGGLE_DICE = BoardGenerator.dice(BoardGenerator.NEW_BOGGLE_DICE); // for the random button
 
     // Views the class interacts with
     private Button randomBtn, solveBtn, populateBtn, clearBtn;
@@ -144,7 +155,16 @@ public class MainActivity extends AppCompatActivity {
     private String EXTERNAL_DIR;
 
     private TessBaseAPI tessAPI; // OCR engine
-    private Boggle validator; // Used to validate words
+    private Boggle validator; // Used to validate words. Set once the dictionary has loaded in the background.
+    private DictionaryQuery wordQuery; // Pattern, prefix and anagram searches. Only used on the solver thread.
+
+    // Solving happens off the UI thread. Only the most recent solve is allowed to post results.
+    private final ExecutorService solverExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private Future<?> pendingSolve;
+    private int solveGeneration = 0;
+    private WordPaths wordPaths; // cells spelling each word of the displayed solution, for highlighting
+    private UncertainBoard ocrBoard; // candidate letters of each photographed tile, until a tile is edited
 
     private boolean OpenCVSetup = false; // Set to true once OpenCV has been setup
 
@@ -166,7 +186,21 @@ public class MainActivity extends AppCompatActivity {
 
         // Setting attributes
 
-        validator = new Boggle(this); // Empty graph. Used only for word validator feature
+        // Load the dictionary in the background. Empty graph. Used only for word validator feature
+        final Context appContext = getApplicationContext();
+        solverExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Boggle loaded = new Boggle(Dictionary.get(appContext));
+                wordQuery = new DictionaryQuery(Dictionary.get(appContext));
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        validator = loaded;
+                    }
+                });
+            }
+        });
 
         DATA_PATH = this.getExternalFilesDir(null) + "/Tess"; // where we store tesseract training file
         EXTERNAL_DIR = this.getExternalFilesDir(null).toString();
@@ -194,51 +228,19 @@ public class MainActivity extends AppCompatActivity {
             @Override
             public void onClick(View v) {
 
-                String entry = easyEntry.getText().toString().trim();
-                ArrayList<String> characters = new ArrayList<>(); // builds array of all valid characters it comes across
+                String entry = easyEntry.getText().toString();
 
                 // used to modify color tiles where entry was invalid
                 ColorStateList colorStateListInvalid = ColorStateList.valueOf(getColor(R.color.invalidEntry));
                 ColorStateList colorStateList = ColorStateList.valueOf(getColor(R.color.colorPrimaryDark));
 
-                boolean validEntry = true;
-
-                for (int i = 0; i < entry.length(); i++) {
-
-                    String character = String.valueOf(entry.charAt(i)).toLowerCase();
-                    if (!Character.isLetter(character.charAt(0))) {
-                        continue; // ignore
-                    }
-
-                    if (character.equals("q")) { // force q to qu
-                        // avoids IndexOutOfBounds
-                        if (i != entry.length() - 1 && String.valueOf(entry.charAt(i+1)).toLowerCase().equals("u")) {
-                            if (entry.length() == BOARD_SIZE * BOARD_SIZE) { // then u is likely a separate character
-                                characters.add(character.toUpperCase().concat("u"));
-                            }
-                            else { // then assume u is coupled to q
-                                characters.add(character.toUpperCase().concat("u"));
-                                i++;
-                            }
-                        }
-                        else {
-                            characters.add(character.toUpperCase().concat("u"));
-                        }
-                    }
-                    else {
-                        if (VALID_CHARS.contains(character)) { // good
-                            characters.add(character.toUpperCase());
-                        }
-                        else { // shouldn't be reached but included for safety
-                            validEntry = false;
-                            break;
-                        }
-                    }
-                }
-
-                if (characters.size() != BOARD_SIZE * BOARD_SIZE) {
-                    validEntry = false;
+                ArrayList<String> characters = null;
+                try {
+                    characters = Symbols.parseBoard(entry, BOARD_SIZE * BOARD_SIZE);
+                } catch (IllegalArgumentException invalid) {
+                    // handled below
                 }
+                boolean validEntry = characters != null;
 
                 if (validEntry) { // reset color and update the tiles
                     ViewCompat.setBackgroundTintList(easyEntry, colorStateList);
@@ -269,7 +271,7 @@ public class MainActivity extends AppCompatActivity {
 
 
         // Random Listener
-        // Puts a random string from VALID_CHARS_PRETTY into each tile
+        // Shakes the real Boggle dice onto the board
         randomBtn.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
@@ -277,11 +279,10 @@ public class MainActivity extends AppCompatActivity {
                 clearFields();
 
                 EditText[] tiles = getTiles();
-                Random r = new Random();
+                ArrayList<String> symbols = BoardGenerator.roll(BOGGLE_DICE, new Random(), BOARD_SIZE, BOARD_SIZE).toSymbols();
 
-                for (EditText tile : tiles) {
-                    int random_index = r.nextInt(VALID_CHARS_PRETTY.length);
-                    tile.setText(VALID_CHARS_PRETTY[random_index]);
+                for (int i = 0; i < tiles.length; i++) {
+                    tiles[i].setText(symbols.get(i));
                 }
             }
         });
@@ -300,27 +301,30 @@ public class MainActivity extends AppCompatActivity {
                         symbols.add(tile.getText().toString());
                     }
 
-                    Context context = v.getContext();
-
-                    Boggle board = new Boggle(symbols, context);
-                    HashMap<Integer, String[]> validWordsSorted = board.findWords();
-                    setMaxScore(board.getScore());
-
-                    ArrayList<SpannableString> solutionListing = new ArrayList<>();
-                    for (Integer key : validWordsSorted.keySet()) {
-                        StringBuilder str = new StringBuilder();
-                        for (String sol : validWordsSorted.get(key)) {
-                            str.append(sol).append(" "); // one space between each word
-                        }
-                        SpannableString strSpannable = new SpannableString(str.toString());
-                        solutionListing.add(strSpannable);
-                    }
-                    updateSolutions(solutionListing);
+                    solve(symbols, v.getContext().getApplicationContext());
                 }
             }
 
         });
 
+        // Any edit to a tile abandons a solve that is still running for the old board
+        TextWatcher tileWatcher = new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {}
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                cancelSolve();
+                ocrBoard = null; // the tiles no longer show what was photographed
+            }
+        };
+        for (EditText tile : getTiles()) {
+            tile.addTextChangedListener(tileWatcher);
+        }
+
 
         // Camera listener
         // Starts process of take image, crop image, process iamge, apply OCR
@@ -382,10 +386,124 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Stops the solver thread.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        cancelSolve();
+        solverExecutor.shutdownNow();
+    }
+
     //endregion
 
     //region Private Helper Methods
 
+    /**
+     * Solve a board on the solver thread and post the results back to the UI thread. Any solve still
+     * running is cancelled first, and results are dropped if another solve was started or the tiles
+     * changed in the meantime.
+     *
+     * If the tiles still hold a photographed board, words spelled with the OCR's runner-up readings of
+     * some tiles are listed too, in italics. They don't count towards the score.
+     *
+     * @param symbols tile symbols, left to right and top to bottom
+     * @param context application context used to load the dictionary
+     */
+    private void solve(final ArrayList<String> symbols, final Context context) {
+        cancelSolve();
+        final int generation = solveGeneration;
+        final UncertainBoard candidates = ocrBoard;
+
+        pendingSolve = solverExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                final HashMap<Integer, String[]> validWordsSorted;
+                final int score;
+                final WordPaths paths;
+                final HashMap<Integer, ArrayList<String>> alternativeWords = new HashMap<>();
+                try {
+                    Trie dictionary = Dictionary.get(context);
+                    ScoringRules rules = ScoringRules.forSize(BOARD_SIZE);
+                    Boggle board = new Boggle(symbols, BOARD_SIZE, BOARD_SIZE, dictionary);
+                    board.setRules(rules);
+                    board.setRecordPaths(true);
+                    validWordsSorted = board.findWords();
+                    score = board.getScore();
+                    paths = board.getPaths();
+
+                    if (candidates != null) {
+                        for (String word : candidates.findWords(dictionary, rules, OCR_MIN_CONFIDENCE).keySet()) {
+                            if (paths.getPathLength(word) == 0) { // needs a runner-up reading
+                                if (!alternativeWords.containsKey(word.length())) {
+                                    alternativeWords.put(word.length(), new ArrayList<String>());
+                                }
+                                alternativeWords.get(word.length()).add(word);
+                            }
+                        }
+                    }
+                } catch (CancellationException e) {
+                    return; // board changed while solving
+                }
+
+                HashSet<Integer> lengthSet = new HashSet<>(validWordsSorted.keySet());
+                lengthSet.addAll(alternativeWords.keySet());
+                ArrayList<Integer> lengths = new ArrayList<>(lengthSet);
+                Collections.sort(lengths); // shortest words first
+
+                final ArrayList<SpannableString> solutionListing = new ArrayList<>();
+                for (Integer key : lengths) {
+                    StringBuilder str = new StringBuilder();
+                    if (validWordsSorted.containsKey(key)) {
+                        for (String sol : validWordsSorted.get(key)) {
+                            str.append(sol).append(" "); // one space between each word
+                        }
+                    }
+                    int alternativesStart = str.length();
+                    if (alternativeWords.containsKey(key)) {
+                        ArrayList<String> alternatives = alternativeWords.get(key);
+                        Collections.sort(alternatives);
+                        for (String sol : alternatives) {
+                            str.append(sol).append(" ");
+                        }
+                    }
+                    SpannableString strSpannable = new SpannableString(str.toString());
+                    if (alternativesStart < str.length()) {
+                        strSpannable.setSpan(new StyleSpan(Typeface.ITALIC), alternativesStart, str.length(),
+                                Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                    }
+                    solutionListing.add(strSpannable);
+                }
+
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != solveGeneration) {
+                            return; // superseded
+                        }
+                        pendingSolve = null;
+                        wordPaths = paths;
+                        setMaxScore(score);
+                        updateSolutions(solutionListing);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Abandon the solve in progress, if any. Must be called on the UI thread.
+     */
+    private void cancelSolve() {
+        solveGeneration++;
+        wordPaths = null; // stale once the board changes
+        if (pendingSolve != null) {
+            pendingSolve.cancel(true); // interrupts the solver between starting cells
+            pendingSolve = null;
+        }
+    }
+
 
     private void clearFields() {
 
@@ -472,25 +590,23 @@ public class MainActivity extends AppCompatActivity {
     /**
      * Update the solutions displayed in the solution ListView
 
-     * @param solutionListing ArrayList of SpannableStrings containing solutions of 3, 4,..,10 letters
+     * @param solutionListing ArrayList of SpannableStrings containing solutions grouped by length
      *                        as space-separated words.
      */
 
     private void updateSolutions(ArrayList<SpannableString> solutionListing) {
 
         for (int i = 0; i < solutionListing.size(); i++) {
-            int wordLength = i + 3; // 3, 4, 5, ..., 10
-            int space_between = 1; // space between words in each string
-            int wordBlockLength = wordLength + space_between;
-
             SpannableString words = solutionListing.get(i);
 
-            int numWords = words.length() / wordBlockLength;
-            // recall that the last word in each string is also followed by a space to make it a complete block
-
-
             // iterate over each individual word in the string
-            for (int j = 0; j < numWords; j++) {
+            // recall that the last word in each string is also followed by a space
+            int wordStart = 0;
+            while (wordStart < words.length()) {
+                int wordEnd = words.toString().indexOf(' ', wordStart);
+                if (wordEnd == -1) {
+                    wordEnd = words.length();
+                }
 
 
                 /**
@@ -511,13 +627,16 @@ public class MainActivity extends AppCompatActivity {
                         String word = wordListSpanned.subSequence(start, end).toString();
                         word = word.toLowerCase();
 
+                        highlightPath(word);
+
                         // API call
                         new CallbackTask().execute(makeMerriamQuery(word));
                     }
                 };
 
                 // Applying the clickableSpan action
-                words.setSpan(clickableSpan, j * wordBlockLength, (j * wordBlockLength  + wordBlockLength -1), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                words.setSpan(clickableSpan, wordStart, wordEnd, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+                wordStart = wordEnd + 1;
             }
         }
 
@@ -554,6 +673,27 @@ public class MainActivity extends AppCompatActivity {
     }
 
 
+    /**
+     * Tint the tiles that spell a word from the displayed solution, and reset the rest.
+     *
+     * @param word lowercase word
+     */
+    private void highlightPath(String word) {
+        EditText[] tiles = getTiles();
+        ColorStateList colorStateList = ColorStateList.valueOf(getColor(R.color.colorPrimaryDark));
+        ColorStateList colorStateListPath = ColorStateList.valueOf(getColor(R.color.colorPrimary));
+
+        for (EditText tile : tiles) {
+            ViewCompat.setBackgroundTintList(tile, colorStateList);
+        }
+        int[] path = wordPaths == null ? null : wordPaths.getPath(word);
+        if (path != null) {
+            for (int cell : path) {
+                ViewCompat.setBackgroundTintList(tiles[cell], colorStateListPath);
+            }
+        }
+    }
+
     /**
      *
      * @param tiles Array of IDs to all the tiles on the board
@@ -563,11 +703,20 @@ public class MainActivity extends AppCompatActivity {
     private boolean validateTiles(EditText[] tiles) {
         boolean valid = true;
 
+        int blanks = 0;
+        for (EditText tile: tiles) {
+            if (Symbols.isValid(tile.getText().toString())
+                    && Symbols.isWildcard(Symbols.encode(tile.getText().toString()))) {
+                blanks++;
+            }
+        }
+
         for (EditText tile: tiles) {
             if (tile.getText().toString().toLowerCase().equals("q")) { // special case
                 tile.setText(tile.getText().toString().concat("u"));
             }
-            else if (!VALID_CHARS.contains(tile.getText().toString().toLowerCase())) {
+            else if (!Symbols.isValid(tile.getText().toString()) // a letter, a two-letter tile or a wildcard
+                    || (blanks > Symbols.MAX_WILDCARDS && Symbols.isWildcard(Symbols.encode(tile.getText().toString())))) {
                 valid = false;
                 ColorStateList colorStateList = ColorStateList.valueOf(getColor(R.color.invalidEntry));
                 ViewCompat.setBackgroundTintList(tile, colorStateList);
@@ -856,6 +1005,125 @@ public class MainActivity extends AppCompatActivity {
     //region Action Menu Interaction
 
 
+    /**
+     * Check a searched word against the dictionary and fetch its definition if it's valid. While the
+     * dictionary is still loading, the check is queued on the solver thread behind the load instead of
+     * waiting for it here on the UI thread.
+     *
+     * @param word lowercase word from the search bar
+     */
+    private void validateWord(final String word) {
+        if (validator != null) {
+            showValidation(word, validator.validateWord(word));
+            return;
+        }
+        final Context appContext = getApplicationContext();
+        solverExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final boolean valid = Dictionary.get(appContext).contains(word);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (isDestroyed()) {
+                            return; // no dialogs once the activity is gone
+                        }
+                        showValidation(word, valid);
+                    }
+                });
+            }
+        });
+    }
+
+    private void showValidation(String word, boolean valid) {
+        if (valid) { // make API call
+            Toast.makeText(MainActivity.this, "Valid! Getting definition...", Toast.LENGTH_SHORT).show();
+            new CallbackTask().execute(makeMerriamQuery(word));
+        }
+        else {
+            generateDialog(word.toUpperCase(), "Invalid Word");
+        }
+    }
+
+    /**
+     * List the words matching a search: "=letters" for the words that can be made from those letters
+     * ("?" is a blank), otherwise a pattern where "?" is any letter and "*" any run of letters. The search
+     * runs on the solver thread, behind the dictionary load if it hasn't finished, and the results are
+     * posted back in a dialog. Tapping a listed word looks up its definition.
+     *
+     * @param query lowercase search from the search bar
+     */
+    private void searchWords(final String query) {
+        final Context appContext = getApplicationContext();
+        solverExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (wordQuery == null) { // the load failed to finish; only happens if it threw
+                    wordQuery = new DictionaryQuery(Dictionary.get(appContext));
+                }
+
+                List<String> found;
+                try {
+                    if (query.startsWith("=")) {
+                        found = wordQuery.subAnagrams(query.substring(1), ScoringRules.OFFICIAL.getMinWordLength(),
+                                SEARCH_RESULT_LIMIT + 1);
+                    }
+                    else if (query.indexOf('*') == query.length() - 1 && !query.contains("?")) { // plain prefix
+                        found = wordQuery.withPrefix(query.substring(0, query.length() - 1), SEARCH_RESULT_LIMIT + 1);
+                    }
+                    else {
+                        found = wordQuery.matching(query, SEARCH_RESULT_LIMIT + 1);
+                    }
+                } catch (IllegalArgumentException e) {
+                    found = null;
+                }
+
+                final List<String> words = found;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (isDestroyed()) {
+                            return; // no dialogs once the activity is gone
+                        }
+                        showSearchResults(query, words);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @param query search from the search bar
+     * @param words up to SEARCH_RESULT_LIMIT + 1 matching words, or null if the search was invalid
+     */
+    private void showSearchResults(String query, List<String> words) {
+        if (words == null) {
+            generateDialog(query.toUpperCase(), "Invalid Search");
+            return;
+        }
+        if (words.isEmpty()) {
+            generateDialog(query.toUpperCase(), "No Words Found");
+            return;
+        }
+
+        SpannableStringBuilder message = new SpannableStringBuilder();
+        for (int i = 0; i < words.size() && i < SEARCH_RESULT_LIMIT; i++) {
+            final String word = words.get(i);
+            int start = message.length();
+            message.append(word.toUpperCase());
+            message.setSpan(new ClickableSpan() {
+                @Override
+                public void onClick(View textView) {
+                    new CallbackTask().execute(makeMerriamQuery(word));
+                }
+            }, start, message.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            message.append(' ');
+        }
+        String title = query.toUpperCase() + " (" + Math.min(words.size(), SEARCH_RESULT_LIMIT)
+                + (words.size() > SEARCH_RESULT_LIMIT ? "+" : "") + ")";
+        generateClickableDialog(title, message);
+    }
+
     /**
      * Inflate menu and set properties of search operation.
      * @param menu menu
@@ -887,13 +1155,11 @@ public class MainActivity extends AppCompatActivity {
                 searchItem.collapseActionView();
 
                 query = query.trim().toLowerCase();
-                if (validator.validateWord(query)) { // make API call
-                    Toast.makeText(MainActivity.this, "Valid! Getting definition...", Toast.LENGTH_SHORT).show();
-                    new CallbackTask().execute(makeMerriamQuery(query));
-                }
-                else {
-                    generateDialog(query.toUpperCase(), "Invalid Word");
+                if (query.startsWith("=") || query.contains("?") || query.contains("*")) {
+                    searchWords(query);
+                    return true;
                 }
+                validateWord(query);
                 return true;
             }
 
@@ -1443,6 +1709,7 @@ public class MainActivity extends AppCompatActivity {
      */
     private ArrayList<String> getBoardCharacters(ArrayList<Mat> letterContours) {
         ArrayList<String> symbols = new ArrayList<>();
+        UncertainBoard candidates = new UncertainBoard(BOARD_SIZE, BOARD_SIZE);
 
         tessAPI = new TessBaseAPI();
         if (tessAPI == null) {
@@ -1461,6 +1728,7 @@ public class MainActivity extends AppCompatActivity {
                 if (letterContour.width() < letterContour.height() * 1/2.5 || letterContour.height() < letterContour.width() * 1/2.5) {
                     // has trouble with I so pinpoint geometrically
                     Log.d("Tesseract", "Identified I geometrically!");
+                    candidates.addCandidate(symbols.size(), "I", 1.0);
                     symbols.add("I");
                     continue;
                 }
@@ -1606,6 +1874,12 @@ public class MainActivity extends AppCompatActivity {
                     finalPred = finalPredRot;
                 }
 
+                // keep every orientation's reading as a candidate for uncertain solving
+                addCandidates(candidates, symbols.size(),
+                        new String[] {predictedChar, predictedCharFlipped, predictedCharCW, predictedCharCCW},
+                        new double[] {confidence * confFactor, confidenceFlipped * confFactor,
+                                confidenceCW * rotConfFactor, confidenceCCW * rotConfFactor});
+
                 Log.d("Tesseract", "Final Prediction: " + finalPred);
                 symbols.add(finalPred);
             }
@@ -1629,10 +1903,43 @@ public class MainActivity extends AppCompatActivity {
                 ViewCompat.setBackgroundTintList(tiles[i], colorStateList);
             }
         }
+        ocrBoard = candidates; // after setting the tiles, which clears it
 
         return symbols; // return symbols
     }
 
+    /**
+     * Add a tile's OCR readings to an uncertain board. Confidences are scaled by the tile's best reading, so
+     * the letter shown scores 1 and a runner-up scores how likely it is relative to that. Multiplied along a
+     * word, they measure how far the word strays from the board as shown, not how ambiguous its tiles are.
+     * Blank and unusable readings are dropped.
+     *
+     * @param candidates board to add to
+     * @param cell index of the tile
+     * @param predictions letter read in each orientation
+     * @param confidences weighted Tesseract confidence of each reading
+     */
+    private void addCandidates(UncertainBoard candidates, int cell, String[] predictions, double[] confidences) {
+        HashMap<String, Double> best = new HashMap<>(); // best confidence of each letter
+        for (int i = 0; i < predictions.length; i++) {
+            String letter = predictions[i].trim().equals("Q") ? "Qu" : predictions[i].trim();
+            if (!Symbols.isValid(letter) || confidences[i] <= 0) {
+                continue;
+            }
+            if (!best.containsKey(letter) || best.get(letter) < confidences[i]) {
+                best.put(letter, confidences[i]);
+            }
+        }
+
+        double top = 0;
+        for (double confidence : best.values()) {
+            top = Math.max(top, confidence);
+        }
+        for (Map.Entry<String, Double> entry : best.entrySet()) {
+            candidates.addCandidate(cell, entry.getKey(), entry.getValue() / top);
+        }
+    }
+
     /**
      * Efficient rotation of Mat 90, 180, or 270 degrees
      * @param toRotate Mat to rotate
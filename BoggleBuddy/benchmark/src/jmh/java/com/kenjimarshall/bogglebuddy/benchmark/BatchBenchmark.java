@@ -0,0 +1,56 @@
+package com.kenjimarshall.bogglebuddy.benchmark;
+
+import com.kenjimarshall.bogglebuddy.BatchSolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch scoring throughput, reported in boards per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchBenchmark {
+
+    private static final int BOARDS = 4096;
+
+    @Param({"4", "5"})
+    public int size;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private BatchSolver solver;
+    private List<ArrayList<String>> boards;
+
+    @Setup
+    public void setUp() throws IOException {
+        solver = new BatchSolver(Boards.loadDictionary(), size, size, threads);
+        boards = Boards.random(BOARDS, size * size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        solver.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int[] scoreBoards() throws InterruptedException {
+        return solver.scoreBoards(boards);
+    }
+}
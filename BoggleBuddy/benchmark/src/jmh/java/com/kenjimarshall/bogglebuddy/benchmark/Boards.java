@@ -0,0 +1,62 @@
+package com.kenjimarshall.bogglebuddy.benchmark;
+
+import com.kenjimarshall.bogglebuddy.DictionaryLoader;
+import com.kenjimarshall.bogglebuddy.Trie;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared fixtures: the word list and seeded random boards, so every run solves the same boards.
+ */
+final class Boards {
+
+    static final long SEED = 20200504L;
+
+    private static final String[] SYMBOLS = {"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M",
+            "N", "O", "P", "Qu", "R", "S", "T", "U", "V", "W", "X", "Y", "Z"};
+
+    private Boards() {}
+
+    /**
+     * @return lines of the word list named by the boggle.wordlist system property (set in build.gradle)
+     */
+    static List<String> readWordList() throws IOException {
+        return DictionaryLoader.readLines(Files.newInputStream(wordListPath()));
+    }
+
+    static Trie loadDictionary() throws IOException {
+        return DictionaryLoader.load(wordListPath());
+    }
+
+    private static Path wordListPath() {
+        String path = System.getProperty("boggle.wordlist");
+        if (path == null) {
+            throw new IllegalStateException("Set -Dboggle.wordlist to the path of nwl2018.txt");
+        }
+        return Paths.get(path);
+    }
+
+    /**
+     * @param count number of boards
+     * @param cells symbols per board
+     * @return boards with uniformly random symbols, the same on every call
+     */
+    static List<ArrayList<String>> random(int count, int cells) {
+        Random random = new Random(SEED);
+        List<ArrayList<String>> boards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ArrayList<String> board = new ArrayList<>(cells);
+            for (int j = 0; j < cells; j++) {
+                board.add(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+            }
+            boards.add(board);
+        }
+        return boards;
+    }
+}
@@ -0,0 +1,121 @@
+package com.kenjimarshall.bogglebuddy.benchmark;
+
+import com.kenjimarshall.bogglebuddy.Boggle;
+import com.kenjimarshall.bogglebuddy.Trie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dictionary load paths (text parse, trie and DAWG build, binary image) and word lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DictionaryBenchmark {
+
+    private static final int QUERIES = 1 << 12;
+
+    private List<String> words;
+    private File imageFile;
+    private ByteBuffer image;
+    private Boggle validator;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        words = Boards.readWordList();
+        Trie dawg = Trie.build(words).minimize();
+        validator = new Boggle(dawg);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        dawg.writeTo(bytes);
+        image = ByteBuffer.wrap(bytes.toByteArray());
+        imageFile = File.createTempFile("nwl2018", ".dict");
+        FileOutputStream out = new FileOutputStream(imageFile);
+        try {
+            out.write(bytes.toByteArray());
+        } finally {
+            out.close();
+        }
+
+        // half real words, half random strings of the same length
+        Random random = new Random(Boards.SEED);
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            if (i % 2 == 0) {
+                queries[i] = word;
+            }
+            else {
+                char[] letters = new char[word.length()];
+                for (int j = 0; j < letters.length; j++) {
+                    letters[j] = (char) ('a' + random.nextInt(26));
+                }
+                queries[i] = new String(letters);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        imageFile.delete();
+    }
+
+    /** What the app did before the binary image: read and parse the text list, then build. */
+    @Benchmark
+    public Trie loadWordList() throws IOException {
+        return Trie.build(Boards.readWordList());
+    }
+
+    @Benchmark
+    public Trie buildTrie() {
+        return Trie.build(words);
+    }
+
+    @Benchmark
+    public Trie buildDawg() {
+        return Trie.build(words).minimize();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Trie loadImage() throws IOException {
+        return Trie.fromImage(image);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Trie mapImage() throws IOException {
+        RandomAccessFile file = new RandomAccessFile(imageFile, "r");
+        try {
+            return Trie.fromImage(file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length()));
+        } finally {
+            file.close();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean validateWord() {
+        return validator.validateWord(queries[next++ & (QUERIES - 1)]);
+    }
+}
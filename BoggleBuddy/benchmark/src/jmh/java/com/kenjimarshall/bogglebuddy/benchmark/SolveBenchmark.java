@@ -0,0 +1,82 @@
+package com.kenjimarshall.bogglebuddy.benchmark;
+
+import com.kenjimarshall.bogglebuddy.Boggle;
+import com.kenjimarshall.bogglebuddy.Trie;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-board solve latency over a fixed set of seeded random boards, cycling through them so no one
+ * board dominates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SolveBenchmark {
+
+    private static final int BOARDS = 256;
+
+    @Param({"4", "5", "6"})
+    public int size;
+
+    private Boggle[] boards;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Trie dictionary = Boards.loadDictionary();
+        List<ArrayList<String>> symbols = Boards.random(BOARDS, size * size);
+        boards = new Boggle[BOARDS];
+        for (int i = 0; i < BOARDS; i++) {
+            boards[i] = new Boggle(symbols.get(i), size, size, dictionary);
+        }
+    }
+
+    private Boggle nextBoard() {
+        return boards[next++ & (BOARDS - 1)];
+    }
+
+    @Benchmark
+    public HashMap<Integer, String[]> findWords() {
+        return nextBoard().findWords();
+    }
+
+    @Benchmark
+    public int findWordsStreaming(final Blackhole blackhole) {
+        return nextBoard().findWords(new Boggle.WordListener() {
+            @Override
+            public void onWord(String word) {
+                blackhole.consume(word);
+            }
+        });
+    }
+
+    @Benchmark
+    public HashMap<Integer, String[]> findWordsParallel() {
+        return nextBoard().findWordsParallel();
+    }
+
+    @Benchmark
+    public int[] findWordIds() {
+        return nextBoard().findWordIds();
+    }
+
+    @Benchmark
+    public int scoreWords() {
+        return nextBoard().scoreWords();
+    }
+}
@@ -0,0 +1,309 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scores played games: checks each player's submitted words against the board and cancels every word
+ * that more than one player found, as in the official rules.
+ *
+ * Everything is done on word IDs (see Trie.wordId). The board is solved once into a bitset of the IDs on
+ * it, each submitted word is looked up once, and the words to cancel are the IDs seen for a second time.
+ * A player's scoring words are then their own words minus the cancelled set. No String is compared or
+ * hashed beyond the one dictionary walk per submitted word.
+ *
+ * Games are adjudicated in parallel the same way BatchSolver solves boards: each worker keeps one Boggle
+ * per board geometry and pulls the next game as soon as it's done with the last. The bitsets span the
+ * whole dictionary, so each worker also keeps its own and clears only the bits a game set.
+ */
+public class Adjudicator {
+
+    private final Trie dictionary;
+    private final ScoringRules rules;
+    private final int threads;
+    private final ExecutorService executor;
+
+    /**
+     * @param dictionary dictionary every game is played with
+     * @param rules minimum word length and points per word
+     */
+    public Adjudicator(Trie dictionary, ScoringRules rules) {
+        this(dictionary, rules, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param dictionary dictionary every game is played with
+     * @param rules minimum word length and points per word
+     * @param threads number of worker threads for adjudicateAll
+     */
+    public Adjudicator(Trie dictionary, ScoringRules rules, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        this.dictionary = dictionary;
+        this.rules = rules;
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Adjudicate one game on the calling thread.
+     *
+     * @param board board the game was played on
+     * @param submissions words submitted by each player, in any case
+     */
+    public Result adjudicate(PackedBoard board, List<? extends Collection<String>> submissions) {
+        return new Worker().adjudicate(board, submissions);
+    }
+
+    /**
+     * Adjudicate many games on the worker threads.
+     *
+     * @param boards board of each game
+     * @param submissions words submitted by each player of each game, in the same order as boards
+     * @return result of each game, in the same order
+     */
+    public List<Result> adjudicateAll(final List<PackedBoard> boards,
+                                      final List<? extends List<? extends Collection<String>>> submissions) throws InterruptedException {
+        if (boards.size() != submissions.size()) {
+            throw new IllegalArgumentException("Need one list of submissions per board");
+        }
+        final Result[] results = new Result[boards.size()];
+        final AtomicInteger next = new AtomicInteger();
+        ArrayList<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Worker worker = new Worker();
+                    int index;
+                    while ((index = next.getAndIncrement()) < results.length) {
+                        results[index] = worker.adjudicate(boards.get(index), submissions.get(index));
+                    }
+                    return null;
+                }
+            });
+        }
+        await(executor.invokeAll(workers)); // invokeAll publishes the workers' writes to results
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stop the worker threads. adjudicateAll can't be used afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static void await(List<Future<Void>> futures) throws InterruptedException {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+
+    /**
+     * Solvers and bitsets for one thread, reused from game to game.
+     */
+    private class Worker {
+
+        private final HashMap<BoardGeometry, Boggle> solvers = new HashMap<>();
+        private final BitSet onBoard = new BitSet(dictionary.getWordCount());
+        private final BitSet seen = new BitSet(dictionary.getWordCount()); // found by some player so far
+        private final BitSet cancelled = new BitSet(dictionary.getWordCount()); // found by two or more
+        private final BitSet mine = new BitSet(dictionary.getWordCount()); // found by the current player
+
+        private Result adjudicate(PackedBoard board, List<? extends Collection<String>> submissions) {
+            Boggle solver = solvers.get(board.getGeometry());
+            if (solver == null) {
+                solver = new Boggle(board.getGeometry(), dictionary);
+                solver.setRules(rules);
+                solvers.put(board.getGeometry(), solver);
+            }
+            solver.setBoard(board);
+            int[] boardIds = solver.findWordIds();
+            for (int id : boardIds) {
+                onBoard.set(id);
+            }
+
+            try {
+                int players = submissions.size();
+                int[][] ids = new int[players][]; // distinct valid words of each player, in submission order
+                int[][] lengths = new int[players][];
+                ArrayList<List<String>> rejected = new ArrayList<>(players);
+                for (int p = 0; p < players; p++) {
+                    Collection<String> words = submissions.get(p);
+                    ids[p] = new int[words.size()];
+                    lengths[p] = new int[words.size()];
+                    ArrayList<String> playerRejected = new ArrayList<>();
+                    int count = 0;
+                    for (String submitted : words) {
+                        String word = submitted.trim().toLowerCase();
+                        int id = dictionary.wordId(word);
+                        if (id < 0 || !onBoard.get(id)) { // not a word, too short, or not on the board
+                            playerRejected.add(word);
+                            continue;
+                        }
+                        if (mine.get(id)) {
+                            continue; // submitted twice by the same player
+                        }
+                        mine.set(id);
+                        ids[p][count] = id;
+                        lengths[p][count] = word.length();
+                        count++;
+
+                        if (seen.get(id)) {
+                            cancelled.set(id);
+                        }
+                        seen.set(id);
+                    }
+                    for (int i = 0; i < count; i++) {
+                        mine.clear(ids[p][i]);
+                    }
+                    ids[p] = Arrays.copyOf(ids[p], count);
+                    lengths[p] = Arrays.copyOf(lengths[p], count);
+                    rejected.add(playerRejected);
+                }
+
+                int[] scores = new int[players];
+                int[][] scored = new int[players][];
+                for (int p = 0; p < players; p++) {
+                    int count = 0;
+                    scored[p] = new int[ids[p].length];
+                    for (int i = 0; i < ids[p].length; i++) {
+                        if (!cancelled.get(ids[p][i])) {
+                            scores[p] += rules.points(lengths[p][i]);
+                            scored[p][count++] = ids[p][i];
+                        }
+                    }
+                    scored[p] = Arrays.copyOf(scored[p], count);
+                    Arrays.sort(scored[p]); // ID order is alphabetical
+                }
+
+                int[] cancelledIds = new int[cancelled.cardinality()];
+                int count = 0;
+                for (int id = cancelled.nextSetBit(0); id >= 0; id = cancelled.nextSetBit(id + 1)) {
+                    cancelledIds[count++] = id;
+                }
+                return new Result(dictionary, board, boardIds.length, solver.getScore(), scored, cancelledIds,
+                        rejected, scores);
+            } finally {
+                // leave the bitsets empty for the next game; every bit set was a word on the board
+                for (int id : boardIds) {
+                    onBoard.clear(id);
+                    seen.clear(id);
+                    cancelled.clear(id);
+                    mine.clear(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of one game. Players are numbered in the order their submissions were given. Word lists
+     * are built from the word IDs on request, in alphabetical order.
+     */
+    public static final class Result {
+
+        private final Trie dictionary;
+        private final PackedBoard board;
+        private final int possibleWordCount;
+        private final int maxScore;
+        private final int[][] scored; // sorted word IDs of each player
+        private final int[] cancelled; // sorted word IDs
+        private final List<List<String>> rejected;
+        private final int[] scores;
+
+        private Result(Trie dictionary, PackedBoard board, int possibleWordCount, int maxScore, int[][] scored,
+                       int[] cancelled, List<List<String>> rejected, int[] scores) {
+            this.dictionary = dictionary;
+            this.board = board;
+            this.possibleWordCount = possibleWordCount;
+            this.maxScore = maxScore;
+            this.scored = scored;
+            this.cancelled = cancelled;
+            this.rejected = rejected;
+            this.scores = scores;
+        }
+
+        public PackedBoard getBoard() {
+            return board;
+        }
+
+        public int getPlayerCount() {
+            return scores.length;
+        }
+
+        public int getScore(int player) {
+            return scores[player];
+        }
+
+        /**
+         * @return score of each player
+         */
+        public int[] getScores() {
+            return scores.clone();
+        }
+
+        /**
+         * @return score of every word on the board, for comparison
+         */
+        public int getMaxScore() {
+            return maxScore;
+        }
+
+        /**
+         * @return number of words on the board
+         */
+        public int getPossibleWordCount() {
+            return possibleWordCount;
+        }
+
+        /**
+         * @return words that only this player found
+         */
+        public List<String> getScoredWords(int player) {
+            return words(scored[player]);
+        }
+
+        /**
+         * @return words found by more than one player, which score for nobody
+         */
+        public List<String> getCancelledWords() {
+            return words(cancelled);
+        }
+
+        /**
+         * @return the player's submissions that aren't words, are too short, or aren't on the board, in
+         *         submission order and lowercased
+         */
+        public List<String> getRejectedWords(int player) {
+            return rejected.get(player);
+        }
+
+        private List<String> words(int[] ids) {
+            ArrayList<String> words = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                words.add(dictionary.word(id));
+            }
+            return words;
+        }
+    }
+}
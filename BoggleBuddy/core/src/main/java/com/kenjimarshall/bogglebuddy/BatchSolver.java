@@ -0,0 +1,179 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solves many boards of the same geometry against one loaded dictionary.
+ *
+ * Each worker thread keeps a single Boggle whose symbols are swapped between boards, so neither the
+ * dictionary nor the search buffers are rebuilt per board. Workers pull the next board as soon as they
+ * finish the last one, so uneven boards don't leave threads idle.
+ */
+public class BatchSolver {
+
+    /**
+     * Receives results from solveBoards(Iterator, BoardListener). Called from worker threads, so
+     * implementations must be thread-safe.
+     */
+    public interface BoardListener {
+        void onBoardSolved(int index, List<String> symbols, HashMap<Integer, String[]> words, int score);
+    }
+
+    private interface BoardTask {
+        void solve(Boggle board, int index);
+    }
+
+    private final Trie dictionary;
+    private final BoardGeometry geometry;
+    private final int threads;
+    private final ExecutorService executor;
+
+    /**
+     * @param dictionary dictionary shared by every board
+     * @param rows number of rows on each board
+     * @param cols number of columns on each board
+     */
+    public BatchSolver(Trie dictionary, int rows, int cols) {
+        this(dictionary, rows, cols, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param dictionary dictionary shared by every board
+     * @param rows number of rows on each board
+     * @param cols number of columns on each board
+     * @param threads number of worker threads
+     */
+    public BatchSolver(Trie dictionary, int rows, int cols, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        this.dictionary = dictionary;
+        this.geometry = BoardGeometry.of(rows, cols);
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * @param boards symbols of each board, left to right and top to bottom
+     * @return score of each board, in the same order
+     */
+    public int[] scoreBoards(final List<? extends List<String>> boards) throws InterruptedException {
+        final int[] scores = new int[boards.size()];
+        run(boards.size(), new BoardTask() {
+            @Override
+            public void solve(Boggle board, int index) {
+                board.setSymbols(boards.get(index));
+                scores[index] = board.scoreWords();
+            }
+        });
+        return scores;
+    }
+
+    /**
+     * @param boards symbols of each board, left to right and top to bottom
+     * @return words found on each board, in the same order, keyed by word length
+     */
+    public List<HashMap<Integer, String[]>> solveBoards(final List<? extends List<String>> boards) throws InterruptedException {
+        final ArrayList<HashMap<Integer, String[]>> results = new ArrayList<>(boards.size());
+        for (int i = 0; i < boards.size(); i++) {
+            results.add(null);
+        }
+
+        final Object lock = new Object();
+        run(boards.size(), new BoardTask() {
+            @Override
+            public void solve(Boggle board, int index) {
+                board.setSymbols(boards.get(index));
+                HashMap<Integer, String[]> words = board.findWords();
+                synchronized (lock) {
+                    results.set(index, words);
+                }
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Solve boards as they are pulled from an iterator, handing each result to a listener instead of
+     * keeping them all in memory. Blocks until the iterator is exhausted and every board is solved.
+     *
+     * @param boards source of boards. Only accessed by one worker at a time.
+     * @param listener receives each board's result, possibly out of order
+     */
+    public void solveBoards(final Iterator<? extends List<String>> boards, final BoardListener listener) throws InterruptedException {
+        final int[] nextIndex = {0};
+        ArrayList<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Boggle board = new Boggle(geometry, dictionary);
+                    while (true) {
+                        List<String> symbols;
+                        int index;
+                        synchronized (boards) {
+                            if (!boards.hasNext()) {
+                                return null;
+                            }
+                            symbols = boards.next();
+                            index = nextIndex[0]++;
+                        }
+                        board.setSymbols(symbols);
+                        HashMap<Integer, String[]> words = board.findWords();
+                        listener.onBoardSolved(index, symbols, words, board.getScore());
+                    }
+                }
+            });
+        }
+        await(executor.invokeAll(workers));
+    }
+
+    /**
+     * Stop the worker threads. The solver can't be used afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(final int count, final BoardTask task) throws InterruptedException {
+        final AtomicInteger next = new AtomicInteger();
+        ArrayList<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Boggle board = new Boggle(geometry, dictionary);
+                    int index;
+                    while ((index = next.getAndIncrement()) < count) {
+                        task.solve(board, index);
+                    }
+                    return null;
+                }
+            });
+        }
+        await(executor.invokeAll(workers));
+    }
+
+    private static void await(List<Future<Void>> futures) throws InterruptedException {
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause; // e.g. an invalid symbol on one of the boards
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+    }
+}
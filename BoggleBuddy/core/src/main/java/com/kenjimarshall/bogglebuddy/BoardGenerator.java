@@ -0,0 +1,467 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates boards that look like real games and hit a target score or word count.
+ *
+ * Boards are drawn from a TileModel: real Boggle dice, or letters drawn with configurable frequencies.
+ * anneal() then runs simulated annealing over the model's moves (swap two dice, re-roll one, ...),
+ * scoring every candidate with Boggle.scoreWords, which doesn't allocate. generate() runs independent
+ * chains on a thread pool, one reused Boggle per worker, the same way BatchSolver does.
+ */
+public class BoardGenerator {
+
+    /**
+     * Dice of the 4x4 game, one string of faces per die. "Q" is the Qu face.
+     */
+    public static final String[] NEW_BOGGLE_DICE = {
+            "AAEEGN", "ABBJOO", "ACHOPS", "AFFKPS", "AOOTTW", "CIMOTU", "DEILRX", "DELRVY",
+            "DISTTY", "EEGHNW", "EEINSU", "EHRTVW", "EIOSST", "ELRTTY", "HIMNQU", "HLNNRZ"};
+
+    /**
+     * Dice of the 5x5 game.
+     */
+    public static final String[] BIG_BOGGLE_DICE = {
+            "AAAFRS", "AAEEEE", "AAFIRS", "ADENNN", "AEEEEM", "AEEGMU", "AEGMNN", "AFIRSY", "BJKQXZ",
+            "CCENST", "CEIILT", "CEILPT", "CEIPST", "DDHNOT", "DHHLOR", "DHLNOR", "DHLNOR", "EIIITT",
+            "EMOTTT", "ENSSSU", "FIPRSY", "GORRVW", "IPRRRY", "NOOTUW", "OOOTTU"};
+
+    /**
+     * Relative frequency of each letter a-z in English text, in percent.
+     */
+    public static final double[] ENGLISH_FREQUENCIES = {
+            8.2, 1.5, 2.8, 4.3, 12.7, 2.2, 2.0, 6.1, 7.0, 0.15, 0.77, 4.0, 2.4,
+            6.7, 7.5, 1.9, 0.095, 6.0, 6.3, 9.1, 2.8, 0.98, 2.4, 0.15, 2.0, 0.074};
+
+    private static final int MAX_ROLLS = 1000; // attempts at a board with few enough blanks
+
+    public enum Objective {
+        SCORE, WORD_COUNT
+    }
+
+    /**
+     * Where tiles come from. A board is an int per cell whose meaning is up to the model (e.g. which die
+     * and which face); symbol() turns it into a symbol code. Implementations must be thread-safe, so keep
+     * any state in the tiles.
+     */
+    public interface TileModel {
+
+        /**
+         * @param random source of randomness
+         * @param tiles array to fill with a new random board
+         */
+        void fill(Random random, int[] tiles);
+
+        /**
+         * Make one small random change to a board.
+         */
+        void mutate(Random random, int[] tiles);
+
+        /**
+         * @return symbol code shown by a tile
+         */
+        byte symbol(int tile);
+    }
+
+    public static class Result {
+
+        private final PackedBoard board;
+        private final int score;
+        private final int wordCount;
+
+        private Result(PackedBoard board, int score, int wordCount) {
+            this.board = board;
+            this.score = score;
+            this.wordCount = wordCount;
+        }
+
+        public PackedBoard getBoard() {
+            return board;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getWordCount() {
+            return wordCount;
+        }
+    }
+
+    private final Trie dictionary;
+    private final BoardGeometry geometry;
+    private final ScoringRules rules;
+    private final TileModel model;
+    private final int threads;
+    private final ExecutorService executor;
+
+    /**
+     * Scores boards with the standard rules for their size, as Boggle does by default.
+     *
+     * @param dictionary dictionary to score against
+     * @param rows number of rows on each board
+     * @param cols number of columns on each board
+     * @param model where tiles come from
+     */
+    public BoardGenerator(Trie dictionary, int rows, int cols, TileModel model) {
+        this(dictionary, rows, cols, null, model, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Scores boards with the standard rules for their size, as Boggle does by default.
+     *
+     * @param dictionary dictionary to score against
+     * @param rows number of rows on each board
+     * @param cols number of columns on each board
+     * @param model where tiles come from
+     * @param threads number of worker threads used by generate()
+     */
+    public BoardGenerator(Trie dictionary, int rows, int cols, TileModel model, int threads) {
+        this(dictionary, rows, cols, null, model, threads);
+    }
+
+    /**
+     * @param dictionary dictionary to score against
+     * @param rows number of rows on each board
+     * @param cols number of columns on each board
+     * @param rules how boards are scored, or null for ScoringRules.forSize of the board size
+     * @param model where tiles come from
+     * @param threads number of worker threads used by generate()
+     */
+    public BoardGenerator(Trie dictionary, int rows, int cols, ScoringRules rules, TileModel model, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread");
+        }
+        this.dictionary = dictionary;
+        this.geometry = BoardGeometry.of(rows, cols);
+        this.rules = rules != null ? rules : ScoringRules.forSize(Math.max(rows, cols));
+        this.model = model;
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * @param faces one string of faces per die, e.g. NEW_BOGGLE_DICE. "Q" is the Qu face; other two-letter
+     *              faces are written as they appear on the die, e.g. "AnErHeInQuTh", and "?" is a blank.
+     *              Boards with more than Symbols.MAX_WILDCARDS blanks are rolled again.
+     * @return model that shuffles the dice onto the board and rolls each one. If the board has fewer cells
+     *         than there are dice, a random subset is used; if it has more, the set is used more than once.
+     */
+    public static TileModel dice(String[] faces) {
+        return new Dice(faces);
+    }
+
+    /**
+     * @param weights relative frequency of each letter a-z, e.g. ENGLISH_FREQUENCIES. "q" is drawn as Qu.
+     * @return model that draws every tile independently
+     */
+    public static TileModel letterFrequencies(double[] weights) {
+        return new Frequencies(weights);
+    }
+
+    /**
+     * @return a random board from the model, without any scoring. Doesn't need a dictionary.
+     */
+    public static PackedBoard roll(TileModel model, Random random, int rows, int cols) {
+        int[] tiles = new int[rows * cols];
+        fill(model, random, tiles);
+        byte[] codes = new byte[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            codes[i] = model.symbol(tiles[i]);
+        }
+        return PackedBoard.fromCodes(codes, rows, cols);
+    }
+
+    /**
+     * Search for one board on the calling thread.
+     *
+     * @param random source of randomness
+     * @param steps number of candidate boards to score
+     * @param objective what to measure
+     * @param target value to hit exactly, or -1 to maximize. The search stops early once it's hit.
+     * @return best board found
+     */
+    public Result anneal(Random random, int steps, Objective objective, int target) {
+        return anneal(newBoard(), random, steps, objective, target);
+    }
+
+    /**
+     * Run independent searches in parallel.
+     *
+     * @param count number of boards to generate
+     * @param steps number of candidate boards scored per generated board
+     * @param objective what to measure
+     * @param target value to hit exactly, or -1 to maximize
+     * @param seed seed of the first search; search i uses seed + i, so results are reproducible
+     * @return best board of each search, in order
+     */
+    public List<Result> generate(final int count, final int steps, final Objective objective, final int target,
+                                 final long seed) throws InterruptedException {
+        final Result[] results = new Result[count];
+        final AtomicInteger next = new AtomicInteger();
+        ArrayList<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    Boggle board = newBoard();
+                    int index;
+                    while ((index = next.getAndIncrement()) < count) {
+                        results[index] = anneal(board, new Random(seed + index), steps, objective, target);
+                    }
+                    return null;
+                }
+            });
+        }
+
+        for (Future<Void> future : executor.invokeAll(workers)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Stop the worker threads. generate() can't be used afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Boggle newBoard() {
+        Boggle board = new Boggle(geometry, dictionary);
+        board.setRules(rules);
+        return board;
+    }
+
+    private Result anneal(Boggle board, Random random, int steps, Objective objective, int target) {
+        int cellCount = geometry.cellCount;
+        int[] tiles = new int[cellCount];
+        int[] saved = new int[cellCount];
+        int[] best = new int[cellCount];
+        byte[] cells = new byte[cellCount];
+        board.setCells(cells); // kept by reference, so refilling cells changes the board
+
+        fill(model, random, tiles);
+        int value = evaluate(board, tiles, cells, objective);
+        int cost = cost(value, target);
+        int bestCost = cost;
+        System.arraycopy(tiles, 0, best, 0, cellCount);
+
+        // Temperature in units of the objective, cooling geometrically to a thousandth of the start
+        double temperature = Math.max(2, 0.05 * Math.max(value, target));
+        double cooling = Math.pow(0.001, 1.0 / Math.max(1, steps));
+
+        for (int step = 0; step < steps && !(target >= 0 && bestCost == 0); step++) {
+            System.arraycopy(tiles, 0, saved, 0, cellCount);
+            model.mutate(random, tiles);
+            if (countBlanks(model, tiles) > Symbols.MAX_WILDCARDS) { // not a legal board, so never accepted
+                System.arraycopy(saved, 0, tiles, 0, cellCount);
+                temperature *= cooling;
+                continue;
+            }
+            int candidate = cost(evaluate(board, tiles, cells, objective), target);
+
+            int delta = candidate - cost;
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                cost = candidate;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    System.arraycopy(tiles, 0, best, 0, cellCount);
+                }
+            }
+            else {
+                System.arraycopy(saved, 0, tiles, 0, cellCount);
+            }
+            temperature *= cooling;
+        }
+
+        evaluate(board, best, cells, objective);
+        return new Result(PackedBoard.fromCodes(cells.clone(), geometry.rows, geometry.cols),
+                board.getScore(), board.getWordCount());
+    }
+
+    private int evaluate(Boggle board, int[] tiles, byte[] cells, Objective objective) {
+        for (int i = 0; i < tiles.length; i++) {
+            cells[i] = model.symbol(tiles[i]);
+        }
+        int score = board.scoreWords();
+        return objective == Objective.SCORE ? score : board.getWordCount();
+    }
+
+    /**
+     * Fill a new board, rolling again while it has more blanks than Symbols.MAX_WILDCARDS allows.
+     *
+     * @throws IllegalArgumentException if the model hardly ever rolls a legal board
+     */
+    private static void fill(TileModel model, Random random, int[] tiles) {
+        for (int roll = 0; roll < MAX_ROLLS; roll++) {
+            model.fill(random, tiles);
+            if (countBlanks(model, tiles) <= Symbols.MAX_WILDCARDS) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Tile model keeps rolling more than " + Symbols.MAX_WILDCARDS + " blanks");
+    }
+
+    private static int countBlanks(TileModel model, int[] tiles) {
+        int blanks = 0;
+        for (int tile : tiles) {
+            if (Symbols.isWildcard(model.symbol(tile))) {
+                blanks++;
+            }
+        }
+        return blanks;
+    }
+
+    /**
+     * Lower is better.
+     */
+    private static int cost(int value, int target) {
+        return target < 0 ? -value : Math.abs(value - target);
+    }
+
+    /**
+     * Tile = die index * 8 + face index.
+     */
+    private static class Dice implements TileModel {
+
+        private final byte[][] faces;
+
+        private Dice(String[] dice) {
+            faces = new byte[dice.length][];
+            for (int d = 0; d < dice.length; d++) {
+                faces[d] = Symbols.parseFaces(dice[d]);
+                if (faces[d].length < 1 || faces[d].length > 8) {
+                    throw new IllegalArgumentException("A die needs 1 to 8 faces: " + dice[d]);
+                }
+            }
+        }
+
+        @Override
+        public void fill(Random random, int[] tiles) {
+            int sets = (tiles.length + faces.length - 1) / faces.length;
+            int[] dice = new int[sets * faces.length];
+            for (int i = 0; i < dice.length; i++) {
+                dice[i] = i % faces.length;
+            }
+            for (int i = 0; i < tiles.length; i++) { // shuffle the whole set, keep the first dice
+                int j = i + random.nextInt(dice.length - i);
+                int die = dice[j];
+                dice[j] = dice[i];
+                tiles[i] = die * 8 + random.nextInt(faces[die].length);
+            }
+        }
+
+        @Override
+        public void mutate(Random random, int[] tiles) {
+            int cell = random.nextInt(tiles.length);
+            if (random.nextBoolean()) { // swap two dice, or a die for one left off the board
+                int other = random.nextInt(Math.max(tiles.length, faces.length));
+                if (other < tiles.length) {
+                    int tile = tiles[cell];
+                    tiles[cell] = tiles[other];
+                    tiles[other] = tile;
+                }
+                else {
+                    int die;
+                    do {
+                        die = random.nextInt(faces.length);
+                    } while (isOnBoard(die, tiles));
+                    tiles[cell] = die * 8 + random.nextInt(faces[die].length);
+                }
+            }
+            else { // roll one die again
+                int die = tiles[cell] / 8;
+                tiles[cell] = die * 8 + random.nextInt(faces[die].length);
+            }
+        }
+
+        @Override
+        public byte symbol(int tile) {
+            return faces[tile / 8][tile % 8];
+        }
+
+        /**
+         * Only called when there are more dice than cells, so some die is always off the board.
+         */
+        private static boolean isOnBoard(int die, int[] tiles) {
+            for (int tile : tiles) {
+                if (tile / 8 == die) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Tile = symbol code.
+     */
+    private static class Frequencies implements TileModel {
+
+        private final double[] cumulative = new double[26];
+        private final double total;
+
+        private Frequencies(double[] weights) {
+            if (weights.length != 26) {
+                throw new IllegalArgumentException("Need one weight per letter a-z");
+            }
+            double sum = 0;
+            for (int i = 0; i < 26; i++) {
+                if (weights[i] < 0) {
+                    throw new IllegalArgumentException("Negative weight for " + (char) ('a' + i));
+                }
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("Weights are all zero");
+            }
+            total = sum;
+        }
+
+        @Override
+        public void fill(Random random, int[] tiles) {
+            for (int i = 0; i < tiles.length; i++) {
+                tiles[i] = draw(random);
+            }
+        }
+
+        @Override
+        public void mutate(Random random, int[] tiles) {
+            tiles[random.nextInt(tiles.length)] = draw(random);
+        }
+
+        @Override
+        public byte symbol(int tile) {
+            return (byte) tile;
+        }
+
+        private int draw(Random random) {
+            double r = random.nextDouble() * total;
+            int letter = 0;
+            while (letter < 25 && cumulative[letter] <= r) {
+                letter++;
+            }
+            return letter == 'q' - 'a' ? Symbols.QU : letter;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Neighbour tables for a rectangular board. Cells are indexed left to right, top to bottom.
+ *
+ * Each cell's neighbours are stored as a bitset in a long, so the solver can pick its next cell with
+ * Long.numberOfTrailingZeros and mask out visited cells in a single AND. Geometries are built once
+ * per rows x columns and shared between boards.
+ *
+ * Rotating or reflecting a board keeps every path, so it has the same words. symmetries lists the cell
+ * maps for each such transform: all 8 for a square board, 4 (identity, half turn and the two flips)
+ * otherwise.
+ */
+public class BoardGeometry {
+
+    public static final int MAX_CELLS = 64; // one bit per cell in a long
+
+    private static final ConcurrentHashMap<Integer, BoardGeometry> cache = new ConcurrentHashMap<>();
+
+    final int rows;
+    final int cols;
+    final int cellCount;
+    final long[] adjacency;
+    final int[][] symmetries; // symmetries[t][cell] = cell of the original board that transform t moves to cell
+
+    private BoardGeometry(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cellCount = rows * cols;
+        this.adjacency = new long[cellCount];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int dRow = -1; dRow <= 1; dRow++) {
+                for (int dCol = -1; dCol <= 1; dCol++) {
+                    int nRow = row + dRow;
+                    int nCol = col + dCol;
+                    if ((dRow != 0 || dCol != 0) && nRow >= 0 && nRow < rows && nCol >= 0 && nCol < cols) {
+                        adjacency[cell] |= 1L << (nRow * cols + nCol);
+                    }
+                }
+            }
+        }
+
+        this.symmetries = new int[rows == cols ? 8 : 4][cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / cols;
+            int col = cell % cols;
+            int flippedRow = rows - 1 - row;
+            int flippedCol = cols - 1 - col;
+            symmetries[0][cell] = cell;
+            symmetries[1][cell] = flippedRow * cols + flippedCol; // half turn
+            symmetries[2][cell] = row * cols + flippedCol; // mirror left-right
+            symmetries[3][cell] = flippedRow * cols + col; // mirror top-bottom
+            if (rows == cols) {
+                symmetries[4][cell] = col * cols + row; // transpose
+                symmetries[5][cell] = flippedCol * cols + flippedRow; // anti-transpose
+                symmetries[6][cell] = flippedCol * cols + row; // quarter turn clockwise
+                symmetries[7][cell] = col * cols + flippedRow; // quarter turn anticlockwise
+            }
+        }
+    }
+
+    /**
+     * @param size number of rows (and columns) on the board
+     * @return shared geometry for a size x size board
+     */
+    public static BoardGeometry forSize(int size) {
+        return of(size, size);
+    }
+
+    /**
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     * @return shared geometry for a rows x cols board
+     */
+    public static BoardGeometry of(int rows, int cols) {
+        if (rows < 1 || cols < 1 || rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Unsupported board size: " + rows + "x" + cols);
+        }
+        Integer key = (rows << 8) | cols;
+        BoardGeometry geometry = cache.get(key);
+        if (geometry == null) {
+            geometry = new BoardGeometry(rows, cols);
+            BoardGeometry existing = cache.putIfAbsent(key, geometry);
+            if (existing != null) {
+                geometry = existing;
+            }
+        }
+        return geometry;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * @param cell cell index
+     * @return bitset of the cells adjacent to cell
+     */
+    public long getNeighbours(int cell) {
+        return adjacency[cell];
+    }
+}
@@ -0,0 +1,661 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class Boggle {
+
+    private static final int MAX_SYMBOL_LENGTH = 2; // two-letter tiles such as "qu"
+    private Trie wordDict;
+    private ScoringRules rules = ScoringRules.OFFICIAL; // boards with cells start with the rules for their size
+    private int score;
+    private int wordCount; // distinct words found by the last solve
+    private int[] lengthCounts = new int[0]; // distinct words of each length found by the last solve
+    private boolean recordPaths;
+    private WordPaths paths; // paths found by the last solve, if it was a findWords with recording on
+    private BoardGeometry geometry;
+    private byte[] cells; // symbol code of each cell
+    private Search search; // reused by sequential solves
+
+    private static ForkJoinPool solverPool; // shared by parallel solves, created on first use
+
+    /**
+     * Receives words from findWords(WordListener) as soon as the search reaches them.
+     */
+    public interface WordListener {
+        void onWord(String word);
+    }
+
+    /**
+     * Empty board, used only to validate words.
+     *
+     * @param wordDict dictionary to validate against, e.g. Dictionary.get(context) on Android
+     */
+    public Boggle(Trie wordDict) {
+        this.wordDict = wordDict;
+    }
+
+    /**
+     * Square board, e.g. 4x4 Boggle, 5x5 Big Boggle or 6x6 Super Big Boggle.
+     *
+     * @param symbols tile symbols, left to right and top to bottom
+     * @param wordDict dictionary to solve against
+     */
+    public Boggle(ArrayList<String> symbols, Trie wordDict) {
+        this(symbols, squareSide(symbols.size()), squareSide(symbols.size()), wordDict);
+    }
+
+    /**
+     * @param symbols tile symbols, left to right and top to bottom
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     * @param wordDict dictionary to solve against
+     */
+    public Boggle(ArrayList<String> symbols, int rows, int cols, Trie wordDict) {
+        this.geometry = BoardGeometry.of(rows, cols);
+        this.cells = encodeCells(symbols);
+        this.wordDict = wordDict;
+        this.rules = ScoringRules.forSize(Math.max(rows, cols));
+        this.score = 0;
+        this.lengthCounts = new int[this.geometry.cellCount * MAX_SYMBOL_LENGTH + 1];
+        this.search = new Search();
+    }
+
+
+    /**
+     * Board with no symbols yet, sharing an already loaded dictionary. Used by BatchSolver, which
+     * fills in each board with setSymbols.
+     */
+    Boggle(BoardGeometry geometry, Trie wordDict) {
+        this.geometry = geometry;
+        this.cells = new byte[geometry.cellCount];
+        this.wordDict = wordDict;
+        this.rules = ScoringRules.forSize(Math.max(geometry.rows, geometry.cols));
+        this.score = 0;
+        this.lengthCounts = new int[this.geometry.cellCount * MAX_SYMBOL_LENGTH + 1];
+        this.search = new Search();
+    }
+
+    /**
+     * Replace the symbols on the board, keeping the geometry, dictionary and search buffers. Lets one
+     * Boggle per thread solve any number of boards of the same size.
+     *
+     * @param symbols tile symbols, left to right and top to bottom
+     */
+    public void setSymbols(List<String> symbols) {
+        this.cells = encodeCells(symbols);
+    }
+
+    /**
+     * Same as setSymbols, from a packed board.
+     *
+     * @param board board of the same size as this one
+     */
+    public void setBoard(PackedBoard board) {
+        if (board.getGeometry() != this.geometry) {
+            throw new IllegalArgumentException("Expected a " + this.geometry.rows + "x" + this.geometry.cols + " board");
+        }
+        byte[] cells = new byte[this.geometry.cellCount];
+        board.getCodes(cells);
+        this.cells = cells;
+    }
+
+    /**
+     * Replace every cell with already encoded symbols.
+     *
+     * @param cells symbol code of each cell. Kept, not copied.
+     */
+    void setCells(byte[] cells) {
+        this.cells = cells;
+    }
+
+    /**
+     * Replace the symbol on one cell.
+     *
+     * @param cell cell index, left to right and top to bottom
+     * @param symbol new tile symbol
+     */
+    void setSymbol(int cell, String symbol) {
+        this.cells[cell] = encodeSymbol(cell, symbol);
+    }
+
+    /**
+     * @return code the cell would hold after setSymbol(cell, symbol)
+     * @throws IllegalArgumentException if the symbol is invalid or would put too many wildcards on the board
+     */
+    byte encodeSymbol(int cell, String symbol) {
+        byte[] changed = this.cells.clone();
+        changed[cell] = Symbols.encode(symbol);
+        Symbols.checkWildcards(changed);
+        return changed[cell];
+    }
+
+    /**
+     * @return symbol code of a cell
+     */
+    byte getCell(int cell) {
+        return this.cells[cell];
+    }
+
+    /**
+     * Change how words are scored. Also sets the minimum word length, so it changes which words are found.
+     * Boards start with ScoringRules.forSize for their size.
+     *
+     * @param rules e.g. ScoringRules.OFFICIAL
+     */
+    public void setRules(ScoringRules rules) {
+        this.rules = rules;
+        if (this.geometry != null) {
+            this.search = new Search(); // picks up the new points table
+        }
+    }
+
+    public ScoringRules getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Keep the cells spelling each word found by findWords (either form), for getPaths. Off by default;
+     * when off the search does no extra work beyond one null check per word found.
+     */
+    public void setRecordPaths(boolean recordPaths) {
+        this.recordPaths = recordPaths;
+    }
+
+    /**
+     * @return paths of the words found by the last solve, or null if path recording was off or the last
+     *         solve wasn't a findWords. Coordinates are cell indices on this board.
+     */
+    public WordPaths getPaths() {
+        return this.paths;
+    }
+
+    BoardGeometry getGeometry() {
+        return this.geometry;
+    }
+
+    Trie getDictionary() {
+        return this.wordDict;
+    }
+
+    private static int squareSide(int cellCount) {
+        int side = (int) Math.round(Math.sqrt(cellCount));
+        if (side * side != cellCount) {
+            throw new IllegalArgumentException("Board of " + cellCount + " symbols isn't square");
+        }
+        return side;
+    }
+
+    private byte[] encodeCells(List<String> symbols) {
+        if (symbols.size() != this.geometry.cellCount) {
+            throw new IllegalArgumentException("Expected " + this.geometry.cellCount + " symbols but got " + symbols.size());
+        }
+
+        byte[] cells = new byte[symbols.size()];
+        for (int i = 0; i < symbols.size(); i++) {
+            cells[i] = Symbols.encode(symbols.get(i));
+        }
+        Symbols.checkWildcards(cells);
+        return cells;
+    }
+
+    public boolean validateWord(String word) {
+        return this.wordDict.contains(word);
+    }
+
+    /**
+     * @return maps word length to sorted words of that length
+     * @throws CancellationException if the calling thread is interrupted during the search
+     */
+    public HashMap<Integer, String[]> findWords() {
+        this.paths = null; // until this solve finishes
+        this.search.resetCounts();
+        this.search.paths = this.recordPaths ? new WordPaths(this.cells.length) : null;
+        for (int cell = 0; cell < this.cells.length; cell++) {
+            if (Thread.currentThread().isInterrupted()) {
+                this.search.validWords.clear();
+                throw new CancellationException("Solve interrupted");
+            }
+            this.search.searchFrom(cell);
+        }
+
+        HashMap<Integer, HashSet<String>> validWords = this.search.validWords;
+        this.search.validWords = new HashMap<>(); // ready for the next solve
+        this.collectCounts(this.search);
+        this.paths = this.search.paths;
+        this.search.paths = null;
+        return sortWords(validWords);
+    }
+
+    /**
+     * Streaming solve. Each word is passed to the listener the first time the DFS finds it, on the calling
+     * thread, instead of being collected and sorted. Words arrive in search order, not alphabetically.
+     * Also updates the score.
+     *
+     * @param listener receives each distinct word once
+     * @return number of distinct words found
+     * @throws CancellationException if the calling thread is interrupted during the search
+     */
+    public int findWords(WordListener listener) {
+        this.search.listener = listener;
+        this.paths = null; // until this solve finishes
+        this.search.resetCounts();
+        this.search.paths = this.recordPaths ? new WordPaths(this.cells.length) : null;
+        try {
+            for (int cell = 0; cell < this.cells.length; cell++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Solve interrupted");
+                }
+                this.search.searchFrom(cell);
+            }
+            this.collectCounts(this.search);
+            this.paths = this.search.paths;
+            return this.wordCount;
+        } finally {
+            this.search.paths = null;
+            this.search.listener = null;
+            this.search.seen.clear();
+        }
+    }
+
+    /**
+     * Solve the board for its score only. Found words are deduplicated in a reusable character pool
+     * instead of as Strings, so once warmed up this doesn't allocate at all; BoardGenerator relies on
+     * that to score thousands of boards per second.
+     *
+     * @return score of all words on the board
+     */
+    public int scoreWords() {
+        this.paths = null;
+        this.search.resetCounts();
+        this.search.scoring = true;
+        try {
+            for (int cell = 0; cell < this.cells.length; cell++) {
+                this.search.searchFrom(cell);
+            }
+            this.collectCounts(this.search);
+        } finally {
+            this.search.scoring = false;
+            this.search.scored.clear();
+        }
+        return this.score;
+    }
+
+    /**
+     * Solve the board into word IDs (see Trie.wordId) instead of Strings. A word found again just sets
+     * the same bit, and the bits are already in alphabetical order, so there's nothing to deduplicate or
+     * sort. Sets from different boards or players combine with BitSet's and, or and andNot.
+     * Also updates the score.
+     *
+     * @return set with the ID of each word on the board
+     * @throws CancellationException if the calling thread is interrupted during the search
+     */
+    public BitSet findWordBits() {
+        BitSet ids = new BitSet(this.wordDict.getWordCount());
+        this.searchIds(ids);
+        return ids;
+    }
+
+    /**
+     * Same as findWordBits, but as an array. Uses a bitset kept between calls, so only the array is
+     * allocated.
+     *
+     * @return IDs of the words on the board, ascending, which is alphabetical order
+     * @throws CancellationException if the calling thread is interrupted during the search
+     */
+    public int[] findWordIds() {
+        if (this.search.idScratch == null) {
+            this.search.idScratch = new BitSet(this.wordDict.getWordCount());
+        }
+        BitSet found = this.search.idScratch;
+        try {
+            this.searchIds(found);
+        } catch (RuntimeException e) {
+            found.clear();
+            throw e;
+        }
+        int[] ids = new int[this.wordCount];
+        int count = 0;
+        for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1)) {
+            ids[count++] = id;
+            found.clear(id); // leave the scratch set empty for the next call
+        }
+        return ids;
+    }
+
+    private void searchIds(BitSet ids) {
+        this.paths = null;
+        this.search.resetCounts();
+        this.search.ids = ids;
+        try {
+            for (int cell = 0; cell < this.cells.length; cell++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Solve interrupted");
+                }
+                this.search.searchFrom(cell);
+            }
+            this.collectCounts(this.search);
+        } finally {
+            this.search.ids = null;
+        }
+    }
+
+    /**
+     * @return number of distinct words found by the last solve
+     */
+    public int getWordCount() {
+        return this.wordCount;
+    }
+
+    /**
+     * @return number of distinct words of each length found by the last solve, indexed by length
+     */
+    public int[] getLengthCounts() {
+        return this.lengthCounts.clone();
+    }
+
+    /**
+     * Same result as findWords(), but the DFS from each starting cell runs as its own task on a shared
+     * ForkJoinPool sized to the number of cores. Each task collects words into its own sets, which are
+     * merged as the tasks join.
+     *
+     * @return maps word length to sorted words of that length
+     */
+    public HashMap<Integer, String[]> findWordsParallel() {
+        return this.findWordsParallel(getSolverPool());
+    }
+
+    /**
+     * @param pool pool to run the per-cell searches on
+     * @return maps word length to sorted words of that length
+     */
+    public HashMap<Integer, String[]> findWordsParallel(ForkJoinPool pool) {
+        HashMap<Integer, HashSet<String>> validWords = pool.invoke(new SolveTask(0, this.cells.length));
+        return this.sortAndScore(validWords);
+    }
+
+    private static synchronized ForkJoinPool getSolverPool() {
+        if (solverPool == null) {
+            solverPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return solverPool;
+    }
+
+    /**
+     * Score words that were collected without counting them during the search, e.g. merged from
+     * several searches, then sort them.
+     */
+    HashMap<Integer, String[]> sortAndScore(HashMap<Integer, HashSet<String>> validWords) {
+        this.paths = null; // no paths are recorded for these
+        this.score = 0;
+        this.wordCount = 0;
+        Arrays.fill(this.lengthCounts, 0);
+        for (Integer length : validWords.keySet()) {
+            int numWords = validWords.get(length).size();
+            this.score += this.rules.points(length) * numWords;
+            this.wordCount += numWords;
+            this.lengthCounts[length] = numWords;
+        }
+        return sortWords(validWords);
+    }
+
+    private static HashMap<Integer, String[]> sortWords(HashMap<Integer, HashSet<String>> validWords) {
+        HashMap<Integer, String[]> sortedValidWords = new HashMap<>();
+        for (Integer key : validWords.keySet()) {
+            String[] words = validWords.get(key).toArray(new String[0]);
+            Arrays.sort(words);
+            sortedValidWords.put(key, words);
+        }
+        return sortedValidWords;
+    }
+
+    private void collectCounts(Search search) {
+        this.score = search.score;
+        this.wordCount = search.wordCount;
+        System.arraycopy(search.lengthCounts, 0, this.lengthCounts, 0, this.lengthCounts.length);
+    }
+
+    /**
+     * DFS state for one thread. Every array has one slot per depth and is allocated once, so the search
+     * itself doesn't allocate.
+     */
+    private class Search {
+
+        private char[] wordBuffer;
+        private int[] cellStack;
+        private int[] trieStack;
+        private long[] pendingStack; // neighbours of the cell at each depth not yet tried
+        private int[] wildcardStack; // at each depth, letters already tried for a wildcard neighbour
+        private int[] lengthStack;
+        private HashMap<Integer, HashSet<String>> validWords; // maps length of word to words found
+        private WordListener listener; // when set, words are streamed to it instead of added to validWords
+        private HashSet<String> seen = new HashSet<>(); // words already streamed
+        private WordPaths paths; // when set, the path of each new word is recorded
+        private boolean scoring; // when set, words are only counted towards the score
+        private WordSet scored = new WordSet(); // words already counted
+        private BitSet ids; // when set, words are collected as IDs instead
+        private BitSet idScratch; // reused by findWordIds
+
+        // Running totals, updated as each new word is found
+        private final int minWordLength;
+        private final int[] points; // points per word length, from the rules
+        private final int[] lengthCounts;
+        private int score;
+        private int wordCount;
+
+        private Search() {
+            int cellCount = geometry.cellCount;
+            this.wordBuffer = new char[cellCount * MAX_SYMBOL_LENGTH]; // longest possible word
+            this.cellStack = new int[cellCount];
+            this.trieStack = new int[cellCount];
+            this.pendingStack = new long[cellCount];
+            this.wildcardStack = new int[cellCount];
+            this.lengthStack = new int[cellCount];
+            this.validWords = new HashMap<>();
+            this.minWordLength = rules.getMinWordLength();
+            this.points = rules.table(this.wordBuffer.length);
+            this.lengthCounts = new int[this.wordBuffer.length + 1];
+        }
+
+        private void resetCounts() {
+            this.score = 0;
+            this.wordCount = 0;
+            Arrays.fill(this.lengthCounts, 0);
+        }
+
+        private void count(int length) {
+            this.score += this.points[length];
+            this.wordCount++;
+            this.lengthCounts[length]++;
+        }
+
+        /**
+         * Performs DFS on the board starting at one cell while walking the trie, so paths that aren't a word
+         * prefix are cut off immediately. Uses an explicit stack, a visited bitmask, and a shared char buffer
+         * for the current word; the only allocations are the Strings of words that are found.
+         *
+         * @param start cell the path starts at
+         */
+        private void searchFrom(int start) {
+            if (Symbols.isWildcard(cells[start])) { // every first letter
+                int first = wordDict.firstChild(Trie.ROOT);
+                for (int child = first; child < first + wordDict.childCount(Trie.ROOT); child++) {
+                    this.searchFrom(start, child);
+                }
+                return;
+            }
+            int trieNode = wordDict.walk(Trie.ROOT, Symbols.letters(cells[start]));
+            if (trieNode == Trie.NONE) { // no word starts with this symbol
+                return;
+            }
+            this.searchFrom(start, trieNode);
+        }
+
+        /**
+         * @param start cell the path starts at
+         * @param trieNode node reached by the start cell's letters
+         */
+        private void searchFrom(int start, int trieNode) {
+            long[] adjacency = geometry.adjacency;
+            int depth = 0;
+            long visited = 1L << start;
+            this.cellStack[0] = start;
+            this.trieStack[0] = trieNode;
+            this.pendingStack[0] = adjacency[start];
+            this.wildcardStack[0] = 0;
+            this.lengthStack[0] = this.append(0, start, trieNode);
+
+            while (depth >= 0) {
+                long pending = this.pendingStack[depth] & ~visited;
+
+                if (pending == 0 || !wordDict.hasChildren(this.trieStack[depth])) { // nothing left to extend, so backtrack
+                    visited &= ~(1L << this.cellStack[depth]);
+                    depth--;
+                    continue;
+                }
+
+                int neighbor = Long.numberOfTrailingZeros(pending);
+                int nextTrieNode;
+                if (Symbols.isWildcard(cells[neighbor])) {
+                    // follow one child edge per visit; the neighbour stays pending until all have been tried
+                    int parent = this.trieStack[depth];
+                    int tried = this.wildcardStack[depth]++;
+                    if (tried + 1 == wordDict.childCount(parent)) {
+                        this.pendingStack[depth] = pending & (pending - 1);
+                        this.wildcardStack[depth] = 0;
+                    }
+                    nextTrieNode = wordDict.firstChild(parent) + tried;
+                }
+                else {
+                    this.pendingStack[depth] = pending & (pending - 1); // clear lowest bit
+                    nextTrieNode = wordDict.walk(this.trieStack[depth], Symbols.letters(cells[neighbor]));
+                    if (nextTrieNode == Trie.NONE) { // not a prefix of any word
+                        continue;
+                    }
+                }
+
+                int length = this.append(this.lengthStack[depth], neighbor, nextTrieNode);
+                depth++;
+                visited |= 1L << neighbor;
+                this.cellStack[depth] = neighbor;
+                this.trieStack[depth] = nextTrieNode;
+                this.pendingStack[depth] = adjacency[neighbor];
+                this.wildcardStack[depth] = 0;
+                this.lengthStack[depth] = length;
+
+                if (length >= this.minWordLength && wordDict.isWord(nextTrieNode)) {
+                    if (this.ids != null) {
+                        int id = wordDict.wordId(this.wordBuffer, length);
+                        if (!this.ids.get(id)) {
+                            this.ids.set(id);
+                            this.count(length);
+                        }
+                        continue;
+                    }
+                    if (this.scoring) {
+                        if (this.scored.add(this.wordBuffer, length)) {
+                            this.count(length);
+                        }
+                        continue;
+                    }
+                    if (this.listener != null) {
+                        String word = new String(this.wordBuffer, 0, length);
+                        if (this.seen.add(word)) {
+                            this.count(length);
+                            if (this.paths != null) {
+                                this.paths.add(word, this.cellStack, depth + 1);
+                            }
+                            this.listener.onWord(word);
+                        }
+                        continue;
+                    }
+                    HashSet<String> bucket = this.validWords.get(length);
+                    if (bucket == null) {
+                        bucket = new HashSet<>();
+                        this.validWords.put(length, bucket);
+                    }
+                    String word = new String(this.wordBuffer, 0, length);
+                    if (bucket.add(word)) {
+                        this.count(length);
+                        if (this.paths != null) {
+                            this.paths.add(word, this.cellStack, depth + 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Copy a cell's letters into the word buffer.
+         *
+         * @param length current length of the word
+         * @param cell cell whose symbol is appended
+         * @param trieNode node reached through the cell, which gives a wildcard's letter
+         * @return new length of the word
+         */
+        private int append(int length, int cell, int trieNode) {
+            if (Symbols.isWildcard(cells[cell])) {
+                this.wordBuffer[length] = wordDict.letter(trieNode);
+                return length + 1;
+            }
+            for (char c : Symbols.letters(cells[cell])) {
+                this.wordBuffer[length++] = c;
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Searches a range of starting cells, splitting in half until each task covers a single cell.
+     */
+    private class SolveTask extends RecursiveTask<HashMap<Integer, HashSet<String>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private int from;
+        private int to;
+
+        private SolveTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected HashMap<Integer, HashSet<String>> compute() {
+            if (this.to - this.from == 1) {
+                Search search = new Search();
+                search.searchFrom(this.from);
+                return search.validWords;
+            }
+
+            int mid = (this.from + this.to) >>> 1;
+            SolveTask left = new SolveTask(this.from, mid);
+            SolveTask right = new SolveTask(mid, this.to);
+            left.fork();
+            HashMap<Integer, HashSet<String>> merged = right.compute();
+
+            HashMap<Integer, HashSet<String>> leftWords = left.join();
+            for (Integer key : leftWords.keySet()) {
+                HashSet<String> bucket = merged.get(key);
+                if (bucket == null) {
+                    merged.put(key, leftWords.get(key));
+                }
+                else {
+                    bucket.addAll(leftWords.get(key));
+                }
+            }
+            return merged;
+        }
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Build-time tool that compiles a plain-text word list (one word per line) into the binary image
+ * loaded by DictionaryLoader. Run by the compileDictionary task in app/build.gradle.
+ *
+ * The trie is minimized into a DAWG unless --no-minimize is given.
+ *
+ * Usage: DictionaryCompiler [--no-minimize] <word list> <output image>
+ */
+public class DictionaryCompiler {
+
+    public static void main(String[] args) throws IOException {
+        boolean minimize = args.length == 0 || !args[0].equals("--no-minimize");
+        if (!minimize) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length != 2) {
+            System.err.println("Usage: DictionaryCompiler [--no-minimize] <word list> <output image>");
+            System.exit(1);
+        }
+
+        Trie trie = Trie.build(DictionaryLoader.readLines(new FileInputStream(args[0])));
+        if (minimize) {
+            trie = trie.minimize();
+        }
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(args[1]));
+        try {
+            trie.writeTo(out);
+        } finally {
+            out.close();
+        }
+
+        System.out.println("Compiled " + trie.getWordCount() + " words into " + trie.getNodeCount() + " nodes");
+    }
+}
@@ -0,0 +1,145 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads a dictionary from a plain-text word list (one word per line) or a binary image written by
+ * Trie.writeTo, without depending on where the data lives. Used by the Android Dictionary adapter, the
+ * build-time DictionaryCompiler and anything running on a plain JVM.
+ *
+ * The load(...) methods accept either format and tell them apart by the image's magic number.
+ */
+public class DictionaryLoader {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private DictionaryLoader() {}
+
+    /**
+     * @param image binary image, e.g. a memory-mapped file. Queried in place, not copied.
+     * @return dictionary backed by the buffer
+     * @throws IOException if the buffer doesn't hold a valid image
+     */
+    public static Trie load(ByteBuffer image) throws IOException {
+        return Trie.fromImage(image);
+    }
+
+    /**
+     * Images are memory-mapped; word lists are parsed and minimized into a DAWG on the heap.
+     * JVM only: java.nio.file needs API 26 on Android, so the app goes through the other overloads.
+     *
+     * @param path binary image or word list
+     * @return dictionary in the file
+     */
+    public static Trie load(Path path) throws IOException {
+        if (isImage(path)) {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                return Trie.fromImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } finally {
+                channel.close(); // mapping stays valid after the channel is closed
+            }
+        }
+        return readWordList(Files.newInputStream(path));
+    }
+
+    /**
+     * Images are read into a direct buffer; word lists are parsed and minimized into a DAWG.
+     *
+     * @param in binary image or word list. Closed once read.
+     * @return dictionary read from the stream
+     */
+    public static Trie load(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(4);
+        boolean image = startsWithMagic(buffered);
+        buffered.reset();
+
+        if (image) {
+            return readImage(buffered);
+        }
+        return readWordList(buffered);
+    }
+
+    /**
+     * @param in binary image. Closed once read.
+     * @return dictionary backed by a direct buffer holding the image
+     */
+    public static Trie readImage(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1 << 16];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                bytes.write(chunk, 0, read);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.size());
+            buffer.put(bytes.toByteArray());
+            buffer.flip();
+            return Trie.fromImage(buffer);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @param in UTF-8 word list, one word per line. Closed once read.
+     * @return minimized dictionary of the words
+     */
+    public static Trie readWordList(InputStream in) throws IOException {
+        return Trie.build(readLines(in)).minimize();
+    }
+
+    /**
+     * @param in UTF-8 text. Closed once read.
+     * @return every line of the text
+     */
+    public static List<String> readLines(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    private static boolean isImage(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        try {
+            return startsWithMagic(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Consumes up to four bytes of the stream.
+     */
+    private static boolean startsWithMagic(InputStream in) throws IOException {
+        byte[] magic = new byte[4];
+        int read = 0;
+        int n;
+        while (read < magic.length && (n = in.read(magic, read, magic.length - read)) != -1) {
+            read += n;
+        }
+        return read == magic.length && ByteBuffer.wrap(magic).getInt() == Trie.MAGIC;
+    }
+}
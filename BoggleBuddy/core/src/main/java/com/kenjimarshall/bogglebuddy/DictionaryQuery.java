@@ -0,0 +1,299 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Searches a dictionary for words by prefix, by pattern, or by the letters they use, walking the trie
+ * directly instead of scanning the word list.
+ *
+ * Every query only follows edges that can still lead to a match and stops as soon as it has the number of
+ * results asked for. Results come out in alphabetical order since siblings in the trie are sorted.
+ *
+ * A pattern is matched by stepping the set of pattern positions that could be reached, kept as a bitmask,
+ * along each edge; a subtree is abandoned as soon as the set is empty. In a DAWG the same node is reached
+ * by many prefixes, so pattern states known to lead nowhere are remembered and never searched twice. That
+ * keeps patterns such as "*xyz" from touching every word.
+ */
+public class DictionaryQuery {
+
+    private static final int MAX_PATTERN_LENGTH = 63; // positions 0 to length fit in a long
+    private static final int DEAD_CACHE_SIZE = 1 << 14; // slots; far fewer than nodes, so a query allocates little
+
+    private final Trie dictionary;
+    private final byte[] height; // letters in the longest word below each node, counted from the node
+
+    /**
+     * @param dictionary dictionary to search
+     */
+    public DictionaryQuery(Trie dictionary) {
+        this.dictionary = dictionary;
+        this.height = new byte[dictionary.getNodeCount()];
+        Arrays.fill(height, (byte) -1);
+        height(Trie.ROOT);
+    }
+
+    /**
+     * @param word word in any case
+     * @return true if the word is in the dictionary
+     */
+    public boolean contains(String word) {
+        return dictionary.contains(word.trim().toLowerCase());
+    }
+
+    /**
+     * @param prefix letters in any case
+     * @return number of words starting with prefix, including the prefix itself
+     */
+    public int countWithPrefix(String prefix) {
+        prefix = prefix.trim().toLowerCase();
+        int node = dictionary.walk(Trie.ROOT, prefix);
+        return node == Trie.NONE ? 0 : dictionary.wordsBelow(node);
+    }
+
+    /**
+     * @param prefix letters in any case
+     * @param limit maximum number of words to return
+     * @return words starting with prefix, including the prefix itself, alphabetically
+     */
+    public List<String> withPrefix(String prefix, int limit) {
+        prefix = prefix.trim().toLowerCase();
+        ArrayList<String> words = new ArrayList<>();
+        int node = dictionary.walk(Trie.ROOT, prefix);
+        if (node != Trie.NONE) {
+            StringBuilder word = new StringBuilder(prefix);
+            collect(node, word, words, limit);
+        }
+        return words;
+    }
+
+    /**
+     * @param pattern letters, "?" for any one letter and "*" for any run of letters, possibly none;
+     *                e.g. "c?t" or "*ing"
+     * @param limit maximum number of words to return
+     * @return words matching the whole pattern, alphabetically
+     * @throws IllegalArgumentException if the pattern has other characters or is over 63 characters long
+     */
+    public List<String> matching(String pattern, int limit) {
+        Matcher matcher = new Matcher(pattern.trim().toLowerCase(), limit);
+        matcher.search(Trie.ROOT, matcher.closure(1L));
+        return matcher.words;
+    }
+
+    /**
+     * Words that can be spelled from some of the given letters, each letter used at most as many times as
+     * it's given.
+     *
+     * @param letters available letters; "?" is a blank that can stand for any letter
+     * @param minLength shortest word to return
+     * @param limit maximum number of words to return
+     * @return matching words, alphabetically
+     * @throws IllegalArgumentException if letters has anything but letters and "?"
+     */
+    public List<String> subAnagrams(String letters, int minLength, int limit) {
+        int[] counts = new int[26];
+        int blanks = 0;
+        for (char c : letters.trim().toLowerCase().toCharArray()) {
+            if (c == '?') {
+                blanks++;
+            }
+            else if (c >= 'a' && c <= 'z') {
+                counts[c - 'a']++;
+            }
+            else {
+                throw new IllegalArgumentException("Invalid letter: " + c);
+            }
+        }
+        ArrayList<String> words = new ArrayList<>();
+        anagrams(Trie.ROOT, counts, blanks, new StringBuilder(), Math.max(minLength, 1), words, limit);
+        return words;
+    }
+
+    private int height(int node) {
+        if (height[node] < 0) {
+            int longest = 0;
+            int first = dictionary.firstChild(node);
+            for (int child = first; child < first + dictionary.childCount(node); child++) {
+                longest = Math.max(longest, height(child) + 1);
+            }
+            height[node] = (byte) longest;
+        }
+        return height[node];
+    }
+
+    /**
+     * Add every word below a node, the node's own first.
+     *
+     * @return false once the limit is reached
+     */
+    private boolean collect(int node, StringBuilder word, List<String> words, int limit) {
+        if (words.size() >= limit) {
+            return false;
+        }
+        if (dictionary.isWord(node)) {
+            words.add(word.toString());
+        }
+        int first = dictionary.firstChild(node);
+        for (int child = first; child < first + dictionary.childCount(node); child++) {
+            word.append(dictionary.letter(child));
+            boolean more = collect(child, word, words, limit);
+            word.setLength(word.length() - 1);
+            if (!more) {
+                return false;
+            }
+        }
+        return words.size() < limit;
+    }
+
+    /**
+     * @return false once the limit is reached
+     */
+    private boolean anagrams(int node, int[] counts, int blanks, StringBuilder word, int minLength,
+                             List<String> words, int limit) {
+        if (word.length() >= minLength && dictionary.isWord(node)) {
+            words.add(word.toString());
+            if (words.size() >= limit) {
+                return false;
+            }
+        }
+        int first = dictionary.firstChild(node);
+        for (int child = first; child < first + dictionary.childCount(node); child++) {
+            int letter = dictionary.letter(child) - 'a';
+            boolean more;
+            word.append(dictionary.letter(child));
+            if (counts[letter] > 0) {
+                counts[letter]--;
+                more = anagrams(child, counts, blanks, word, minLength, words, limit);
+                counts[letter]++;
+            }
+            else if (blanks > 0) {
+                more = anagrams(child, counts, blanks - 1, word, minLength, words, limit);
+            }
+            else {
+                more = true;
+            }
+            word.setLength(word.length() - 1);
+            if (!more) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * DFS state for one pattern query. Bit i of a state is set if the first i characters of the pattern
+     * can match the letters so far.
+     */
+    private class Matcher {
+
+        private final char[] pattern;
+        private final int[] needed; // letters still needed from each position: the non-"*"s after it
+        private final long accept; // bit of the whole pattern
+        private final int limit;
+        private final StringBuilder word = new StringBuilder();
+        private final ArrayList<String> words = new ArrayList<>();
+        // (node, state) pairs found to lead nowhere, in a hashed cache; a pair pushed out is just searched again
+        private final int[] deadNodes = new int[DEAD_CACHE_SIZE]; // node + 1, so 0 is an empty slot
+        private final long[] deadStates = new long[DEAD_CACHE_SIZE];
+
+        private Matcher(String pattern, int limit) {
+            if (pattern.length() > MAX_PATTERN_LENGTH) {
+                throw new IllegalArgumentException("Pattern too long: " + pattern);
+            }
+            this.pattern = pattern.toCharArray();
+            this.needed = new int[pattern.length() + 1];
+            for (int i = pattern.length() - 1; i >= 0; i--) {
+                char c = pattern.charAt(i);
+                if ((c < 'a' || c > 'z') && c != '?' && c != '*') {
+                    throw new IllegalArgumentException("Invalid pattern character: " + c);
+                }
+                needed[i] = needed[i + 1] + (c == '*' ? 0 : 1);
+            }
+            this.accept = 1L << pattern.length();
+            this.limit = limit;
+        }
+
+        /**
+         * @return state plus the positions reached by letting "*"s match nothing
+         */
+        private long closure(long state) {
+            for (int i = 0; i < pattern.length; i++) {
+                if ((state & (1L << i)) != 0 && pattern[i] == '*') {
+                    state |= 1L << (i + 1);
+                }
+            }
+            return state;
+        }
+
+        /**
+         * @return state after matching one more letter
+         */
+        private long step(long state, char letter) {
+            long next = 0;
+            for (int i = 0; i < pattern.length; i++) {
+                if ((state & (1L << i)) == 0) {
+                    continue;
+                }
+                if (pattern[i] == '*') {
+                    next |= 1L << i; // the "*" takes the letter and can take more
+                }
+                else if (pattern[i] == '?' || pattern[i] == letter) {
+                    next |= 1L << (i + 1);
+                }
+            }
+            return closure(next);
+        }
+
+        /**
+         * @return fewest letters any word matching from this state still needs
+         */
+        private int needed(long state) {
+            int fewest = Integer.MAX_VALUE;
+            for (long pending = state; pending != 0; pending &= pending - 1) {
+                fewest = Math.min(fewest, needed[Long.numberOfTrailingZeros(pending)]);
+            }
+            return fewest;
+        }
+
+        /**
+         * @return number of words found below node, or -1 once the limit is reached
+         */
+        private int search(int node, long state) {
+            int slot = (int) (((node * 0x9E3779B97F4A7C15L) ^ state) * 0xBF58476D1CE4E5B9L >>> 32) & (DEAD_CACHE_SIZE - 1);
+            if ((deadNodes[slot] == node + 1 && deadStates[slot] == state) || height[node] < needed(state)) {
+                return 0;
+            }
+
+            int found = 0;
+            if ((state & accept) != 0 && dictionary.isWord(node)) {
+                words.add(word.toString());
+                if (words.size() >= limit) {
+                    return -1;
+                }
+                found++;
+            }
+            if (state != accept) { // past the end of the pattern, nothing longer matches
+                int first = dictionary.firstChild(node);
+                for (int child = first; child < first + dictionary.childCount(node); child++) {
+                    long next = step(state, dictionary.letter(child));
+                    if (next == 0) {
+                        continue;
+                    }
+                    word.append(dictionary.letter(child));
+                    int below = search(child, next);
+                    word.setLength(word.length() - 1);
+                    if (below < 0) {
+                        return -1;
+                    }
+                    found += below;
+                }
+            }
+            if (found == 0) {
+                deadNodes[slot] = node + 1;
+                deadStates[slot] = state;
+            }
+            return found;
+        }
+    }
+}
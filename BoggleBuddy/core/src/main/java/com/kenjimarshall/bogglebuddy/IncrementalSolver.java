@@ -0,0 +1,242 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps a board's solution up to date as single tiles change, e.g. while the user corrects OCR mistakes.
+ *
+ * The first solve remembers every path on the board that spells a word prefix ("states"), as a tree where
+ * each state points at the same path minus its last cell. When a cell changes:
+ *      - states whose path uses the cell are dropped, along with any words they spelled
+ *      - every surviving state next to the cell is extended into it with the new symbol, and the search
+ *        continues from there
+ * So only paths through the changed cell are searched; everything else is reused.
+ */
+public class IncrementalSolver {
+
+    private final Boggle board;
+    private final Trie dictionary;
+    private final BoardGeometry geometry;
+    private final HashMap<String, Integer> pathCounts = new HashMap<>(); // word -> number of paths spelling it
+    private final char[] wordBuffer;
+    private final int minWordLength;
+
+    // One slot per state. A parent is always stored before its children.
+    private int[] parent; // -1 for paths of one cell
+    private byte[] lastCell;
+    private byte[] length; // letters spelled so far
+    private int[] trieNode;
+    private long[] visited; // cells on the path; 0 once the state has been dropped
+    private int stateCount;
+    private int droppedCount;
+
+    /**
+     * Solve the board and start tracking it. The board is modified by setSymbol from then on, and its
+     * scoring rules must not change.
+     *
+     * @param board board to track
+     */
+    public IncrementalSolver(Boggle board) {
+        this.board = board;
+        this.dictionary = board.getDictionary();
+        this.geometry = board.getGeometry();
+        this.wordBuffer = new char[geometry.getCellCount() * 2]; // two-letter tiles such as "qu" are the longest
+        this.minWordLength = board.getRules().getMinWordLength();
+
+        int capacity = 1024;
+        this.parent = new int[capacity];
+        this.lastCell = new byte[capacity];
+        this.length = new byte[capacity];
+        this.trieNode = new int[capacity];
+        this.visited = new long[capacity];
+
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            step(-1, cell);
+        }
+    }
+
+    /**
+     * Change one tile and update the solution.
+     *
+     * @param cell cell index, left to right and top to bottom
+     * @param symbol new tile symbol
+     */
+    public void setSymbol(int cell, String symbol) {
+        board.encodeSymbol(cell, symbol); // validate before dropping anything
+        long bit = 1L << cell;
+
+        // Drop every path through the cell while the old symbol is still there to spell its words
+        int existing = stateCount;
+        for (int state = 0; state < existing; state++) {
+            if ((visited[state] & bit) != 0) {
+                if (isWordState(state)) {
+                    String word = wordAt(state);
+                    int count = pathCounts.get(word) - 1;
+                    if (count == 0) {
+                        pathCounts.remove(word);
+                    }
+                    else {
+                        pathCounts.put(word, count);
+                    }
+                }
+                visited[state] = 0;
+                droppedCount++;
+            }
+        }
+
+        board.setSymbol(cell, symbol);
+
+        // Search every path through the cell: starting there, or entering it from a surviving neighbour
+        step(-1, cell);
+        for (int state = 0; state < existing; state++) {
+            if (visited[state] != 0 && (geometry.adjacency[lastCell[state]] & bit) != 0) {
+                step(state, cell);
+            }
+        }
+
+        if (droppedCount > stateCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * @return every word currently on the board
+     */
+    public Set<String> getWordSet() {
+        return pathCounts.keySet();
+    }
+
+    /**
+     * Same shape as Boggle.findWords(). Also updates the board's score.
+     *
+     * @return maps word length to sorted words of that length
+     */
+    public HashMap<Integer, String[]> getWords() {
+        HashMap<Integer, HashSet<String>> byLength = new HashMap<>();
+        for (String word : pathCounts.keySet()) {
+            HashSet<String> bucket = byLength.get(word.length());
+            if (bucket == null) {
+                bucket = new HashSet<>();
+                byLength.put(word.length(), bucket);
+            }
+            bucket.add(word);
+        }
+        return board.sortAndScore(byLength);
+    }
+
+    public int getScore() {
+        return board.getScore();
+    }
+
+    /**
+     * Extend a state by one cell and, if that's still a word prefix, keep searching from the new state.
+     *
+     * @param from state to extend, or -1 to start a new path
+     * @param cell cell to add to the path. Must not already be on it.
+     */
+    private void step(int from, int cell) {
+        int parentNode = from < 0 ? Trie.ROOT : trieNode[from];
+        int parentLength = from < 0 ? 0 : length[from];
+        if (Symbols.isWildcard(board.getCell(cell))) { // one state per letter the wildcard can be
+            int first = dictionary.firstChild(parentNode);
+            for (int child = first; child < first + dictionary.childCount(parentNode); child++) {
+                step(from, cell, child, parentLength + 1);
+            }
+            return;
+        }
+
+        char[] letters = Symbols.letters(board.getCell(cell));
+        int node = dictionary.walk(parentNode, letters);
+        if (node != Trie.NONE) {
+            step(from, cell, node, parentLength + letters.length);
+        }
+    }
+
+    /**
+     * @param node trie node reached through the new cell
+     * @param letters length of the extended path in letters
+     */
+    private void step(int from, int cell, int node, int letters) {
+        int state = add(from, cell, node, letters);
+        if (isWordState(state)) {
+            String word = wordAt(state);
+            Integer count = pathCounts.get(word);
+            pathCounts.put(word, count == null ? 1 : count + 1);
+        }
+
+        if (dictionary.hasChildren(node)) {
+            long pending = geometry.adjacency[cell] & ~visited[state];
+            while (pending != 0) {
+                int next = Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                step(state, next);
+            }
+        }
+    }
+
+    private int add(int from, int cell, int node, int letters) {
+        if (stateCount == parent.length) {
+            int capacity = parent.length * 2;
+            parent = Arrays.copyOf(parent, capacity);
+            lastCell = Arrays.copyOf(lastCell, capacity);
+            length = Arrays.copyOf(length, capacity);
+            trieNode = Arrays.copyOf(trieNode, capacity);
+            visited = Arrays.copyOf(visited, capacity);
+        }
+        int state = stateCount++;
+        parent[state] = from;
+        lastCell[state] = (byte) cell;
+        length[state] = (byte) letters;
+        trieNode[state] = node;
+        visited[state] = (from < 0 ? 0 : visited[from]) | (1L << cell);
+        return state;
+    }
+
+    private boolean isWordState(int state) {
+        return length[state] >= minWordLength && dictionary.isWord(trieNode[state]);
+    }
+
+    /**
+     * Spell a state's path by walking back through its parents.
+     */
+    private String wordAt(int state) {
+        int end = length[state];
+        int position = end;
+        for (int s = state; s >= 0; s = parent[s]) {
+            if (Symbols.isWildcard(board.getCell(lastCell[s]))) {
+                wordBuffer[--position] = dictionary.letter(trieNode[s]);
+                continue;
+            }
+            char[] letters = Symbols.letters(board.getCell(lastCell[s]));
+            position -= letters.length;
+            System.arraycopy(letters, 0, wordBuffer, position, letters.length);
+        }
+        return new String(wordBuffer, 0, end);
+    }
+
+    /**
+     * Remove dropped states. A dropped state's children were dropped with it, and parents come before
+     * children, so one pass can renumber everything.
+     */
+    private void compact() {
+        int[] renumbered = new int[stateCount];
+        int kept = 0;
+        for (int state = 0; state < stateCount; state++) {
+            if (visited[state] == 0) {
+                continue;
+            }
+            renumbered[state] = kept;
+            parent[kept] = parent[state] < 0 ? -1 : renumbered[parent[state]];
+            lastCell[kept] = lastCell[state];
+            length[kept] = length[state];
+            trieNode[kept] = trieNode[state];
+            visited[kept] = visited[state];
+            kept++;
+        }
+        stateCount = kept;
+        droppedCount = 0;
+    }
+}
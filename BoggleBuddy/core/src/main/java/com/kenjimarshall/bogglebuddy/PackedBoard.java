@@ -0,0 +1,170 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable board stored as 6-bit symbol codes (see Symbols), packed 10 to a long. Cheap to hash and
+ * compare, so it's used as the key wherever boards are cached or deduplicated.
+ *
+ * A 4x4 board needs 96 bits, so it takes two longs; 5x5 takes three and 6x6 four. Cell i is in
+ * bits 6 * (i % 10) and up of longs[i / 10]; unused bits are always zero, so equal boards have equal arrays.
+ */
+public final class PackedBoard {
+
+    static final int BITS_PER_CELL = 6; // 33 symbols since the wildcard and the two-letter tiles
+    static final int CELLS_PER_LONG = 64 / BITS_PER_CELL;
+    private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+    private final BoardGeometry geometry;
+    private final long[] longs;
+    private final int hash;
+
+    private PackedBoard(BoardGeometry geometry, long[] longs) {
+        this.geometry = geometry;
+        this.longs = longs;
+        this.hash = 31 * geometry.hashCode() + Arrays.hashCode(longs);
+    }
+
+    /**
+     * @param codes symbol code of each cell, left to right and top to bottom. A lone q is stored as qu.
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     */
+    public static PackedBoard fromCodes(byte[] codes, int rows, int cols) {
+        BoardGeometry geometry = BoardGeometry.of(rows, cols);
+        if (codes.length != geometry.cellCount) {
+            throw new IllegalArgumentException("Expected " + geometry.cellCount + " symbols but got " + codes.length);
+        }
+        long[] longs = new long[longCount(codes.length)];
+        for (int cell = 0; cell < codes.length; cell++) {
+            long code = Symbols.boardCode(codes[cell]);
+            longs[cell / CELLS_PER_LONG] |= code << (BITS_PER_CELL * (cell % CELLS_PER_LONG));
+        }
+        Symbols.checkWildcards(codes);
+        return new PackedBoard(geometry, longs);
+    }
+
+    /**
+     * @param symbols tile symbols as shown on the board, e.g. "A" or "Qu", left to right and top to bottom
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     */
+    public static PackedBoard of(List<String> symbols, int rows, int cols) {
+        byte[] codes = new byte[symbols.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = Symbols.encode(symbols.get(i));
+        }
+        return fromCodes(codes, rows, cols);
+    }
+
+    /**
+     * @param entry board typed as one string, in the populate field's format (see Symbols.parseBoard)
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     */
+    public static PackedBoard parse(String entry, int rows, int cols) {
+        return fromCodes(Symbols.parseCodes(entry, rows * cols), rows, cols);
+    }
+
+    public int getRows() {
+        return geometry.rows;
+    }
+
+    public int getCols() {
+        return geometry.cols;
+    }
+
+    public int getCellCount() {
+        return geometry.cellCount;
+    }
+
+    /**
+     * @param cell cell index, left to right and top to bottom
+     * @return symbol code of the cell
+     */
+    public int getCode(int cell) {
+        if (cell < 0 || cell >= geometry.cellCount) {
+            throw new IndexOutOfBoundsException("Cell " + cell + " of " + geometry.cellCount);
+        }
+        return (int) ((longs[cell / CELLS_PER_LONG] >>> (BITS_PER_CELL * (cell % CELLS_PER_LONG))) & CELL_MASK);
+    }
+
+    /**
+     * @param cell cell index, left to right and top to bottom
+     * @param code new symbol code. A lone q is stored as qu.
+     * @return copy of this board with one cell changed
+     */
+    public PackedBoard withCode(int cell, int code) {
+        long stored = Symbols.boardCode(code);
+        int old = getCode(cell); // bounds check
+        if (Symbols.isWildcard(code) && !Symbols.isWildcard(old)) {
+            byte[] codes = new byte[geometry.cellCount];
+            getCodes(codes);
+            codes[cell] = (byte) code;
+            Symbols.checkWildcards(codes);
+        }
+        long[] changed = longs.clone();
+        int shift = BITS_PER_CELL * (cell % CELLS_PER_LONG);
+        changed[cell / CELLS_PER_LONG] = (changed[cell / CELLS_PER_LONG] & ~(CELL_MASK << shift)) | (stored << shift);
+        return new PackedBoard(geometry, changed);
+    }
+
+    /**
+     * @param codes array of at least getCellCount() entries to receive the symbol code of each cell
+     */
+    public void getCodes(byte[] codes) {
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            codes[cell] = (byte) ((longs[cell / CELLS_PER_LONG] >>> (BITS_PER_CELL * (cell % CELLS_PER_LONG))) & CELL_MASK);
+        }
+    }
+
+    /**
+     * @return tile symbols as shown on the board, e.g. "A" or "Qu", as used by MainActivity
+     */
+    public ArrayList<String> toSymbols() {
+        ArrayList<String> symbols = new ArrayList<>(geometry.cellCount);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            symbols.add(Symbols.display(getCode(cell)));
+        }
+        return symbols;
+    }
+
+    BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * @return the board as one string, e.g. "QuABCDEFGHIJKLMN" or "Th?ABCDEFGHIJKLMN"; parse(toString(), rows, cols) gives it back
+     */
+    @Override
+    public String toString() {
+        StringBuilder entry = new StringBuilder(geometry.cellCount + 4);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            entry.append(Symbols.display(getCode(cell)));
+        }
+        return entry.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PackedBoard)) {
+            return false;
+        }
+        PackedBoard other = (PackedBoard) obj;
+        return hash == other.hash && geometry == other.geometry && Arrays.equals(longs, other.longs);
+    }
+
+    private static int longCount(int cellCount) {
+        return (cellCount + CELLS_PER_LONG - 1) / CELLS_PER_LONG;
+    }
+}
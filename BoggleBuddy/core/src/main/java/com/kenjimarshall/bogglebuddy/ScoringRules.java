@@ -0,0 +1,104 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.Arrays;
+
+/**
+ * Minimum word length and points per word length. Lengths count letters, so "Qu" counts as two.
+ *
+ * The solver looks up a word's points as soon as it finds it and keeps running totals, so the score
+ * never needs a pass over the results.
+ */
+public final class ScoringRules {
+
+    /**
+     * Official 4x4 rules: 3 letters minimum; 3-4 letters 1 point, 5 letters 2, 6 letters 3, 7 letters 5,
+     * 8 or more 11.
+     */
+    public static final ScoringRules OFFICIAL = new ScoringRules(3, new int[] {0, 0, 0, 1, 1, 2, 3, 5, 11});
+
+    /**
+     * Big Boggle (5x5 and up): the official table, but with a 4 letter minimum.
+     */
+    public static final ScoringRules BIG_BOGGLE = new ScoringRules(4, new int[] {0, 0, 0, 0, 1, 2, 3, 5, 11});
+
+    /**
+     * The app's original rule: 3 letters minimum, 1 point for 3 letters and one more per extra letter.
+     */
+    public static final ScoringRules LINEAR = linear(3);
+
+    private final int minWordLength;
+    private final int[] points; // points[length]; the last entry applies to all longer words
+
+    /**
+     * @param minWordLength shortest word that counts
+     * @param points points for a word of each length, starting at 0. Words longer than the table score
+     *               its last entry.
+     */
+    public ScoringRules(int minWordLength, int[] points) {
+        if (minWordLength < 1 || points.length <= minWordLength) {
+            throw new IllegalArgumentException("Need points up to at least the minimum word length");
+        }
+        this.minWordLength = minWordLength;
+        this.points = points.clone();
+    }
+
+    /**
+     * The default everywhere a board is solved without explicit rules.
+     *
+     * @param size number of rows or columns on the board, whichever is larger
+     * @return standard rules for the board: OFFICIAL for 4x4 and smaller, BIG_BOGGLE above
+     */
+    public static ScoringRules forSize(int size) {
+        return size <= 4 ? OFFICIAL : BIG_BOGGLE;
+    }
+
+    /**
+     * @param minWordLength shortest word that counts
+     * @return rules giving 1 point for the shortest words and one more per extra letter
+     */
+    public static ScoringRules linear(int minWordLength) {
+        int[] points = new int[BoardGeometry.MAX_CELLS * 2 + 1]; // longest possible word, all "Qu"
+        for (int length = minWordLength; length < points.length; length++) {
+            points[length] = length - minWordLength + 1;
+        }
+        return new ScoringRules(minWordLength, points);
+    }
+
+    public int getMinWordLength() {
+        return minWordLength;
+    }
+
+    /**
+     * @param length word length in letters
+     * @return points for a word of that length, 0 if it's too short
+     */
+    public int points(int length) {
+        if (length < minWordLength) {
+            return 0;
+        }
+        return points[Math.min(length, points.length - 1)];
+    }
+
+    /**
+     * @param maxLength longest word length needed
+     * @return points for every length from 0 to maxLength, for lookups inside the search
+     */
+    int[] table(int maxLength) {
+        int[] table = new int[maxLength + 1];
+        for (int length = 0; length <= maxLength; length++) {
+            table[length] = points(length);
+        }
+        return table;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ScoringRules && minWordLength == ((ScoringRules) obj).minWordLength
+                && Arrays.equals(points, ((ScoringRules) obj).points);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * minWordLength + Arrays.hashCode(points);
+    }
+}
@@ -0,0 +1,258 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of solved boards, shared by any number of threads.
+ *
+ * Boards are keyed by their canonical form: of the board's rotations and reflections (see
+ * BoardGeometry.symmetries), the one whose symbol codes are lexicographically smallest. Since all of them
+ * have the same words, a board and its 7 rotated or mirrored variants share one entry. A hit only
+ * encodes the board and compares its symmetries; the search isn't run at all.
+ *
+ * The canonical board is what actually gets solved, so anything positional in a Solution is in canonical
+ * cell order; Solution.toOriginalCell maps it back to the board that was passed in.
+ *
+ * The scoring rules are part of the key too, since they change the score and, through the minimum word
+ * length, the words.
+ */
+public class SolveCache {
+
+    /**
+     * Solved board. Words are shared with the cache, so don't modify them.
+     */
+    public static class Solution {
+
+        private final Entry entry;
+        private final int[] transform; // canonical cell -> cell of the board that was looked up
+
+        private Solution(Entry entry, int[] transform) {
+            this.entry = entry;
+            this.transform = transform;
+        }
+
+        /**
+         * @return maps word length to sorted words of that length, as Boggle.findWords()
+         */
+        public HashMap<Integer, String[]> getWords() {
+            return entry.words;
+        }
+
+        public int getScore() {
+            return entry.score;
+        }
+
+        /**
+         * @param canonicalCell cell index on the canonical board
+         * @return the same cell on the board that was looked up
+         */
+        public int toOriginalCell(int canonicalCell) {
+            return transform[canonicalCell];
+        }
+    }
+
+    private static class Entry {
+
+        private final HashMap<Integer, String[]> words;
+        private final int score;
+
+        private Entry(HashMap<Integer, String[]> words, int score) {
+            this.words = words;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Canonical board and the rules it was solved under.
+     */
+    private static final class Key {
+
+        private final PackedBoard board;
+        private final ScoringRules rules;
+
+        private Key(PackedBoard board, ScoringRules rules) {
+            this.board = board;
+            this.rules = rules;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * board.hashCode() + rules.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return board.equals(other.board) && rules.equals(other.rules);
+        }
+    }
+
+    private final Trie dictionary;
+    private final ScoringRules rules; // null for the standard rules of each board's size
+    private final LinkedHashMap<Key, Entry> entries;
+    private int hits;
+    private int misses;
+
+    // One board per thread and geometry for solving misses
+    private final ThreadLocal<HashMap<BoardGeometry, Boggle>> boards = new ThreadLocal<HashMap<BoardGeometry, Boggle>>() {
+        @Override
+        protected HashMap<BoardGeometry, Boggle> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    /**
+     * Scores each board with the standard rules for its size, as Boggle does by default.
+     *
+     * @param dictionary dictionary to solve against
+     * @param capacity maximum number of boards kept; the least recently used is evicted first
+     */
+    public SolveCache(Trie dictionary, int capacity) {
+        this(dictionary, null, capacity);
+    }
+
+    /**
+     * @param dictionary dictionary to solve against
+     * @param rules how boards are scored, or null for ScoringRules.forSize of each board's size
+     * @param capacity maximum number of boards kept; the least recently used is evicted first
+     */
+    public SolveCache(Trie dictionary, ScoringRules rules, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.dictionary = dictionary;
+        this.rules = rules;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) { // access order
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SolveCache.Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param symbols tile symbols, left to right and top to bottom
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     * @return the board's words and score, from the cache if the board or any symmetric variant was
+     *         solved recently
+     */
+    public Solution solve(List<String> symbols, int rows, int cols) {
+        return solve(PackedBoard.of(symbols, rows, cols));
+    }
+
+    /**
+     * @param board board to solve
+     * @return the board's words and score, from the cache if the board or any symmetric variant was
+     *         solved recently
+     */
+    public Solution solve(PackedBoard board) {
+        BoardGeometry geometry = board.getGeometry();
+        return solve(board, this.rules != null ? this.rules
+                : ScoringRules.forSize(Math.max(geometry.rows, geometry.cols)));
+    }
+
+    /**
+     * @param board board to solve
+     * @param rules how to score it, instead of the cache's rules. Boards solved under different rules are
+     *              cached separately.
+     * @return the board's words and score, from the cache if the board or any symmetric variant was
+     *         solved recently under the same rules
+     */
+    public Solution solve(PackedBoard board, ScoringRules rules) {
+        BoardGeometry geometry = board.getGeometry();
+        byte[] cells = new byte[geometry.cellCount];
+        board.getCodes(cells);
+
+        int[] transform = canonicalTransform(geometry, cells);
+        byte[] canonical = new byte[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            canonical[i] = cells[transform[i]];
+        }
+        Key canonicalKey = new Key(PackedBoard.fromCodes(canonical, geometry.rows, geometry.cols), rules);
+
+        Entry entry;
+        synchronized (this.entries) {
+            entry = this.entries.get(canonicalKey);
+            if (entry != null) {
+                this.hits++;
+                return new Solution(entry, transform);
+            }
+            this.misses++;
+        }
+
+        // Solve outside the lock. Two threads missing on the same board both solve it, which is harmless.
+        Boggle solver = solverFor(geometry);
+        if (!solver.getRules().equals(rules)) {
+            solver.setRules(rules);
+        }
+        solver.setCells(canonical);
+        HashMap<Integer, String[]> words = solver.findWords();
+        entry = new Entry(words, solver.getScore());
+        synchronized (this.entries) {
+            this.entries.put(canonicalKey, entry);
+        }
+        return new Solution(entry, transform);
+    }
+
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    public int getHitCount() {
+        synchronized (this.entries) {
+            return this.hits;
+        }
+    }
+
+    public int getMissCount() {
+        synchronized (this.entries) {
+            return this.misses;
+        }
+    }
+
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * @return cell map of the symmetry giving the lexicographically smallest board
+     */
+    private static int[] canonicalTransform(BoardGeometry geometry, byte[] cells) {
+        int[][] symmetries = geometry.symmetries;
+        int[] best = symmetries[0];
+        for (int t = 1; t < symmetries.length; t++) {
+            int[] candidate = symmetries[t];
+            for (int i = 0; i < cells.length; i++) {
+                int diff = cells[candidate[i]] - cells[best[i]];
+                if (diff != 0) {
+                    if (diff < 0) {
+                        best = candidate;
+                    }
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private Boggle solverFor(BoardGeometry geometry) {
+        HashMap<BoardGeometry, Boggle> threadBoards = this.boards.get();
+        Boggle board = threadBoards.get(geometry);
+        if (board == null) {
+            board = new Boggle(geometry, this.dictionary);
+            threadBoards.put(geometry, board);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,250 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Maps tile symbols to small integer codes so boards can be stored as byte arrays.
+ * Codes 0-25 are the letters a-z. Multi-letter tiles ("Qu", and "Th", "In", "Er", "He", "An" from other
+ * Boggle variants) have their own codes since each sits on a single die, and so does the blank tile,
+ * a wildcard that stands for any one letter.
+ *
+ * The solver follows a multi-letter tile's letters one trie edge at a time, and a wildcard along every
+ * child edge of the current node, so neither ever needs the dictionary queried with strings.
+ */
+public class Symbols {
+
+    public static final int QU = 26;
+    public static final int TH = 27;
+    public static final int IN = 28;
+    public static final int ER = 29;
+    public static final int HE = 30;
+    public static final int AN = 31;
+    public static final int WILDCARD = 32;
+    public static final int COUNT = 33;
+
+    /**
+     * Most wildcards a board may have. Each one follows every child edge of the trie, so every extra
+     * wildcard multiplies the search; real dice sets have at most one blank.
+     */
+    public static final int MAX_WILDCARDS = 2;
+
+    private static final String[] MULTI_LETTER = {"qu", "th", "in", "er", "he", "an"}; // codes QU to AN
+
+    private static final int Q = 'q' - 'a';
+
+    private static final String[] SYMBOLS = new String[COUNT];
+    private static final String[] DISPLAY = new String[COUNT];
+    private static final char[][] LETTERS = new char[COUNT][];
+
+    static {
+        for (int i = 0; i < 26; i++) {
+            SYMBOLS[i] = String.valueOf((char) ('a' + i));
+        }
+        for (int i = 0; i < MULTI_LETTER.length; i++) {
+            SYMBOLS[QU + i] = MULTI_LETTER[i];
+        }
+        SYMBOLS[WILDCARD] = "?";
+        for (int i = 0; i < COUNT; i++) {
+            LETTERS[i] = SYMBOLS[i].toCharArray();
+            DISPLAY[i] = Character.toUpperCase(SYMBOLS[i].charAt(0)) + SYMBOLS[i].substring(1);
+        }
+        LETTERS[WILDCARD] = new char[0]; // depends on the path; see isWildcard
+    }
+
+    private Symbols() {}
+
+    /**
+     * @param symbol tile symbol in any case, e.g. "A", "Qu" or "Th"; "?" or "*" for a wildcard.
+     *               A lone "q" is treated as "qu".
+     * @return code of the symbol
+     */
+    public static byte encode(String symbol) {
+        String lower = symbol.trim().toLowerCase();
+        if (lower.equals("q")) {
+            return QU;
+        }
+        if (lower.length() == 1) {
+            char c = lower.charAt(0);
+            if (c >= 'a' && c <= 'z') {
+                return (byte) (c - 'a');
+            }
+            if (c == '?' || c == '*') {
+                return WILDCARD;
+            }
+        }
+        for (int i = 0; i < MULTI_LETTER.length; i++) {
+            if (lower.equals(MULTI_LETTER[i])) {
+                return (byte) (QU + i);
+            }
+        }
+        throw new IllegalArgumentException("Invalid tile symbol: " + symbol);
+    }
+
+    /**
+     * @param code symbol code
+     * @return the code to store on a board: a lone q becomes qu, as encode does, so each board has one form
+     * @throws IllegalArgumentException if the code isn't a symbol code
+     */
+    static byte boardCode(int code) {
+        if (code < 0 || code >= COUNT) {
+            throw new IllegalArgumentException("Invalid symbol code: " + code);
+        }
+        return (byte) (code == Q ? QU : code);
+    }
+
+    /**
+     * @param symbol tile symbol in any case
+     * @return true if encode accepts the symbol
+     */
+    public static boolean isValid(String symbol) {
+        try {
+            encode(symbol);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the code is the wildcard, whose letter depends on the word being spelled
+     */
+    public static boolean isWildcard(int code) {
+        return code == WILDCARD;
+    }
+
+    /**
+     * Parse a board typed as one string, e.g. "ABCDEFGHIJKLMNOP". Anything that isn't a letter or a
+     * wildcard ("?" or "*") is ignored, so "abcd efgh ijkl mnop" works too. A "q" always becomes "Qu".
+     * If the entry is exactly one character per cell, every letter is its own tile. Otherwise a "u" after
+     * a "q" is taken to be part of the "Qu", and an uppercase letter followed by a lowercase one that make
+     * up a two-letter tile, e.g. "Th", are read as that tile; so toString of a PackedBoard parses back.
+     *
+     * @param entry board string
+     * @param cellCount number of cells on the board
+     * @return display symbols, e.g. "A" or "Qu", left to right and top to bottom
+     * @throws IllegalArgumentException if the entry has a letter outside a-z, the wrong number of tiles or
+     *                                  more than MAX_WILDCARDS wildcards
+     */
+    public static ArrayList<String> parseBoard(String entry, int cellCount) {
+        byte[] codes = parseCodes(entry, cellCount);
+        ArrayList<String> symbols = new ArrayList<>(cellCount);
+        for (byte code : codes) {
+            symbols.add(DISPLAY[code]);
+        }
+        return symbols;
+    }
+
+    /**
+     * Same as parseBoard, but returns symbol codes.
+     */
+    static byte[] parseCodes(String entry, int cellCount) {
+        entry = entry.trim();
+        byte[] codes = new byte[cellCount];
+        int count = 0;
+        for (int i = 0; i < entry.length(); i++) {
+            char c = Character.toLowerCase(entry.charAt(i));
+            boolean paired = entry.length() != cellCount && i != entry.length() - 1;
+            byte code;
+            if (c == '?' || c == '*') {
+                code = WILDCARD;
+            }
+            else if (!Character.isLetter(c)) {
+                continue;
+            }
+            else if (c == 'q') {
+                if (paired && Character.toLowerCase(entry.charAt(i + 1)) == 'u') {
+                    i++; // u is coupled to q
+                }
+                code = QU;
+            }
+            else if (c >= 'a' && c <= 'z') {
+                code = (byte) (c - 'a');
+                if (paired && Character.isUpperCase(entry.charAt(i)) && Character.isLowerCase(entry.charAt(i + 1))) {
+                    String pair = entry.substring(i, i + 2).toLowerCase();
+                    for (int m = 1; m < MULTI_LETTER.length; m++) { // "qu" is handled above
+                        if (pair.equals(MULTI_LETTER[m])) {
+                            code = (byte) (QU + m);
+                            i++;
+                            break;
+                        }
+                    }
+                }
+            }
+            else {
+                throw new IllegalArgumentException("Invalid tile symbol: " + entry.charAt(i));
+            }
+            if (count < cellCount) {
+                codes[count] = code;
+            }
+            count++;
+        }
+
+        if (count != cellCount) {
+            throw new IllegalArgumentException("Expected " + cellCount + " tiles but got " + count);
+        }
+        checkWildcards(codes);
+        return codes;
+    }
+
+    /**
+     * @param codes symbol code of each cell
+     * @throws IllegalArgumentException if the board has more than MAX_WILDCARDS wildcards
+     */
+    static void checkWildcards(byte[] codes) {
+        int wildcards = 0;
+        for (byte code : codes) {
+            if (code == WILDCARD) {
+                wildcards++;
+            }
+        }
+        if (wildcards > MAX_WILDCARDS) {
+            throw new IllegalArgumentException("At most " + MAX_WILDCARDS + " blank tiles but got " + wildcards);
+        }
+    }
+
+    /**
+     * Split a die's faces, e.g. "HIMNQU" or "AnErHeInQuTh". An uppercase letter followed by a lowercase one
+     * is a single two-letter face.
+     *
+     * @param die faces of the die
+     * @return symbol code of each face
+     */
+    static byte[] parseFaces(String die) {
+        byte[] faces = new byte[die.length()];
+        int count = 0;
+        for (int i = 0; i < die.length(); i++) {
+            int end = i + 1;
+            if (end < die.length() && Character.isUpperCase(die.charAt(i)) && Character.isLowerCase(die.charAt(end))) {
+                end++;
+            }
+            faces[count++] = encode(die.substring(i, end));
+            i = end - 1;
+        }
+        return Arrays.copyOf(faces, count);
+    }
+
+    /**
+     * @param code symbol code
+     * @return lowercase symbol, e.g. "qu", or "?" for the wildcard
+     */
+    public static String decode(int code) {
+        return SYMBOLS[code];
+    }
+
+    /**
+     * @param code symbol code
+     * @return symbol as shown on a tile, e.g. "A" or "Qu"
+     */
+    public static String display(int code) {
+        return DISPLAY[code];
+    }
+
+    /**
+     * @param code symbol code
+     * @return letters spelled by the symbol, none for the wildcard. Shared array; don't modify.
+     */
+    static char[] letters(int code) {
+        return LETTERS[code];
+    }
+}
@@ -0,0 +1,506 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Compact prefix tree over a word list.
+ *
+ * Every node is packed into a single int so the whole dictionary lives in one flat array:
+ *      - bits 0-4:   letter on the edge leading into the node (0 = 'a', ..., 25 = 'z')
+ *      - bit 5:      set if the path from the root to the node spells a word
+ *      - bits 6-10:  number of children
+ *      - bits 11-31: index of the first child. Siblings are stored contiguously and in alphabetical order.
+ *
+ * The solver walks the trie one letter at a time alongside the board DFS, so any path that isn't
+ * a prefix of some word is abandoned immediately.
+ *
+ * The same array can be written out as a binary image (see writeTo) and queried in place from a
+ * ByteBuffer, e.g. a memory-mapped file, without parsing the word list or allocating per word.
+ * Image layout, all big-endian ints: MAGIC, VERSION, word count, node count, nodes.
+ *
+ * minimize() turns the tree into a DAWG (directed acyclic word graph) in the same format: identical
+ * blocks of siblings, e.g. the shared suffixes "-ing" and "-ed", are stored once and pointed to by every
+ * parent that needs them. Queries work exactly the same on either form.
+ *
+ * Every word also has a dense ID from 0 to getWordCount() - 1, in alphabetical order (see wordId), so
+ * sets of words can be stored as sorted int arrays or bitsets. A DAWG node is shared by many words, so
+ * the ID can't be stored in it; instead each node knows how many words pass through it, and a word's ID
+ * is the number of words that come before it, summed while walking down. The counts are computed
+ * the first time IDs are used.
+ */
+public class Trie {
+
+    public static final int ROOT = 0;
+    public static final int NONE = -1;
+
+    private static final int LETTER_MASK = 0x1F;
+    private static final int TERMINAL_BIT = 1 << 5;
+    private static final int COUNT_SHIFT = 6;
+    private static final int COUNT_MASK = 0x1F;
+    private static final int CHILD_SHIFT = 11;
+    private static final int MAX_NODES = 1 << (32 - CHILD_SHIFT);
+
+    static final int MAGIC = 0x42475452; // "BGTR"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 4;
+
+    private final IntBuffer nodes;
+    private final int wordCount;
+    private volatile Numbering numbering;
+
+    private Trie(IntBuffer nodes, int wordCount) {
+        this.nodes = nodes;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Build a trie from a list of words. Words are lowercased; entries containing anything other
+     * than the letters a-z are skipped.
+     *
+     * @param words words to index, in any order
+     * @return trie containing every valid word
+     */
+    public static Trie build(List<String> words) {
+        ArrayList<String> clean = new ArrayList<>(words.size());
+        for (String word : words) {
+            word = word.trim().toLowerCase();
+            if (word.length() > 0 && isLowercaseWord(word)) {
+                clean.add(word);
+            }
+        }
+
+        String[] sorted = clean.toArray(new String[0]);
+        Arrays.sort(sorted);
+
+        Builder builder = new Builder(sorted);
+        builder.build();
+        return new Trie(IntBuffer.wrap(Arrays.copyOf(builder.nodes, builder.size)), builder.wordCount);
+    }
+
+    /**
+     * Query a trie image in place. The buffer is not copied, so a memory-mapped image costs almost no heap.
+     *
+     * @param image buffer positioned at the start of an image written by writeTo
+     * @return trie backed by the buffer
+     * @throws IOException if the buffer doesn't hold a valid image
+     */
+    public static Trie fromImage(ByteBuffer image) throws IOException {
+        ByteBuffer buffer = image.duplicate();
+        if (buffer.remaining() < HEADER_INTS * 4 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a dictionary image");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported dictionary image version: " + version);
+        }
+        int wordCount = buffer.getInt();
+        int nodeCount = buffer.getInt();
+        if (nodeCount < 1 || buffer.remaining() < nodeCount * 4L) {
+            throw new IOException("Truncated dictionary image");
+        }
+
+        buffer.limit(buffer.position() + nodeCount * 4);
+        return new Trie(buffer.slice().asIntBuffer(), wordCount);
+    }
+
+    /**
+     * Write the trie as a binary image that fromImage can load.
+     *
+     * @param out stream to write to. Not closed.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(wordCount);
+        data.writeInt(nodes.limit());
+        for (int i = 0; i < nodes.limit(); i++) {
+            data.writeInt(nodes.get(i));
+        }
+        data.flush();
+    }
+
+    /**
+     * Build the minimal DAWG accepting the same words. Blocks of siblings are merged bottom-up whenever
+     * their letters, terminal flags and (already merged) children are identical.
+     *
+     * @return equivalent dictionary, usually a fraction of the size
+     */
+    public Trie minimize() {
+        Minimizer minimizer = new Minimizer();
+        int root = nodes.get(ROOT);
+        int childCount = (root >>> COUNT_SHIFT) & COUNT_MASK;
+        int first = childCount == 0 ? 0 : minimizer.merge(root >>> CHILD_SHIFT, childCount);
+        minimizer.out[ROOT] = (root & (LETTER_MASK | TERMINAL_BIT)) | (childCount << COUNT_SHIFT) | (first << CHILD_SHIFT);
+        return new Trie(IntBuffer.wrap(Arrays.copyOf(minimizer.out, minimizer.size)), wordCount);
+    }
+
+    /**
+     * @param node current node
+     * @param c lowercase letter
+     * @return child of node reached by c, or NONE
+     */
+    public int child(int node, char c) {
+        int letter = c - 'a';
+        int packed = nodes.get(node);
+        int first = packed >>> CHILD_SHIFT;
+        int last = first + ((packed >>> COUNT_SHIFT) & COUNT_MASK);
+        for (int i = first; i < last; i++) {
+            int childLetter = nodes.get(i) & LETTER_MASK;
+            if (childLetter == letter) {
+                return i;
+            }
+            if (childLetter > letter) { // siblings are sorted
+                break;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Follow every character of a (possibly multi-letter) symbol such as "qu".
+     *
+     * @param node node to start from
+     * @param symbol lowercase letters to follow
+     * @return node reached, or NONE if the trie has no such path
+     */
+    public int walk(int node, String symbol) {
+        for (int i = 0; i < symbol.length() && node != NONE; i++) {
+            node = child(node, symbol.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Same as walk(int, String) but over a char array, for callers that keep symbols pre-split.
+     */
+    public int walk(int node, char[] symbol) {
+        for (int i = 0; i < symbol.length && node != NONE; i++) {
+            node = child(node, symbol[i]);
+        }
+        return node;
+    }
+
+    /**
+     * Children of a node are stored contiguously, so they are firstChild(node) up to but excluding
+     * firstChild(node) + childCount(node). Used to follow every edge at once, e.g. for a wildcard tile.
+     *
+     * @param node current node
+     * @return index of the node's first child; meaningless if it has none
+     */
+    public int firstChild(int node) {
+        return nodes.get(node) >>> CHILD_SHIFT;
+    }
+
+    public int childCount(int node) {
+        return (nodes.get(node) >>> COUNT_SHIFT) & COUNT_MASK;
+    }
+
+    /**
+     * @param node any node but the root
+     * @return lowercase letter on the edge leading into the node
+     */
+    public char letter(int node) {
+        return (char) ('a' + (nodes.get(node) & LETTER_MASK));
+    }
+
+    public boolean isWord(int node) {
+        return (nodes.get(node) & TERMINAL_BIT) != 0;
+    }
+
+    public boolean hasChildren(int node) {
+        return ((nodes.get(node) >>> COUNT_SHIFT) & COUNT_MASK) != 0;
+    }
+
+    public boolean contains(String word) {
+        int node = walk(ROOT, word);
+        return node != NONE && isWord(node);
+    }
+
+    public boolean containsPrefix(String prefix) {
+        return walk(ROOT, prefix) != NONE;
+    }
+
+    /**
+     * @param word lowercase word
+     * @return the word's ID: its position in the alphabetical list of all words, or -1 if it isn't a word
+     */
+    public int wordId(String word) {
+        return wordId(word.toCharArray(), word.length());
+    }
+
+    /**
+     * Same as wordId(String), for a word held in a buffer.
+     */
+    int wordId(char[] word, int length) {
+        int node = ROOT;
+        int id = 0;
+        for (int i = 0; i < length; i++) {
+            int next = child(node, word[i]);
+            if (next == NONE) {
+                return -1;
+            }
+            id = childId(id, node, next);
+            node = next;
+        }
+        return isWord(node) ? id : -1;
+    }
+
+    /**
+     * @param id word ID, from 0 to getWordCount() - 1
+     * @return the word with that ID
+     */
+    public String word(int id) {
+        if (id < 0 || id >= wordCount) {
+            throw new IndexOutOfBoundsException("Word " + id + " of " + wordCount);
+        }
+        int[] below = numbering().below;
+        StringBuilder word = new StringBuilder();
+        int node = ROOT;
+        while (true) {
+            if (isWord(node)) {
+                if (id == 0) {
+                    return word.toString();
+                }
+                id--;
+            }
+            int child = firstChild(node);
+            while (id >= below[child]) { // skip siblings whose words all come first
+                id -= below[child];
+                child++;
+            }
+            word.append(letter(child));
+            node = child;
+        }
+    }
+
+    /**
+     * Step a word ID along an edge. Every word that passes through a node has an ID of at least the node's
+     * ID, which for a terminal node is the ID of the word it ends.
+     *
+     * @param parentId ID of parent, or 0 for the root
+     * @param parent node being left
+     * @param child child of parent being entered
+     * @return ID of child
+     */
+    int childId(int parentId, int parent, int child) {
+        return parentId + (isWord(parent) ? 1 : 0) + numbering().before[child];
+    }
+
+    /**
+     * @param node any node
+     * @return number of words passing through the node, including one ending there
+     */
+    int wordsBelow(int node) {
+        return numbering().below[node];
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getNodeCount() {
+        return nodes.limit();
+    }
+
+    private Numbering numbering() {
+        Numbering result = numbering;
+        if (result == null) { // racing threads compute the same counts, so no lock is needed
+            result = new Numbering();
+            numbering = result;
+        }
+        return result;
+    }
+
+    /**
+     * Word counts behind the IDs, one int of each per node.
+     */
+    private class Numbering {
+
+        private final int[] below; // words that pass through the node, including one ending there
+        private final int[] before; // words that pass through the node's earlier siblings
+
+        private Numbering() {
+            int nodeCount = nodes.limit();
+            below = new int[nodeCount];
+            before = new int[nodeCount];
+            Arrays.fill(below, -1);
+            count(ROOT);
+
+            // A block of siblings is always shared whole, so its offsets are the same under every parent
+            for (int node = 0; node < nodeCount; node++) {
+                int first = firstChild(node);
+                int words = 0;
+                for (int child = first; child < first + childCount(node); child++) {
+                    before[child] = words;
+                    words += below[child];
+                }
+            }
+        }
+
+        private int count(int node) {
+            if (below[node] < 0) {
+                int words = isWord(node) ? 1 : 0;
+                int first = firstChild(node);
+                for (int child = first; child < first + childCount(node); child++) {
+                    words += count(child);
+                }
+                below[node] = words;
+            }
+            return below[node];
+        }
+    }
+
+    private static boolean isLowercaseWord(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rewrites the nodes with each distinct block of siblings stored once. Children are merged before
+     * their parents, so two blocks are equivalent exactly when their packed ints are equal.
+     */
+    private class Minimizer {
+
+        private final HashMap<Block, Integer> blocks = new HashMap<>();
+        private int[] out = new int[Math.max(16, nodes.limit() / 4)];
+        private int size = 1; // root
+
+        /**
+         * @param first first node of a block of siblings in the original trie
+         * @param count number of siblings
+         * @return index of the equivalent block in the output
+         */
+        private int merge(int first, int count) {
+            int[] packed = new int[count];
+            for (int i = 0; i < count; i++) {
+                int node = nodes.get(first + i);
+                int childCount = (node >>> COUNT_SHIFT) & COUNT_MASK;
+                int child = childCount == 0 ? 0 : merge(node >>> CHILD_SHIFT, childCount);
+                packed[i] = (node & (LETTER_MASK | TERMINAL_BIT)) | (childCount << COUNT_SHIFT) | (child << CHILD_SHIFT);
+            }
+
+            Block block = new Block(packed);
+            Integer existing = blocks.get(block);
+            if (existing != null) {
+                return existing;
+            }
+
+            if (size + count > out.length) {
+                out = Arrays.copyOf(out, Math.max(out.length * 2, size + count));
+            }
+            System.arraycopy(packed, 0, out, size, count);
+            blocks.put(block, size);
+            size += count;
+            return size - count;
+        }
+    }
+
+    private static class Block {
+
+        private final int[] nodes;
+        private final int hash;
+
+        private Block(int[] nodes) {
+            this.nodes = nodes;
+            this.hash = Arrays.hashCode(nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Block && Arrays.equals(nodes, ((Block) obj).nodes);
+        }
+    }
+
+    /**
+     * Lays out the trie from a sorted word array. Each node covers a range of words sharing a prefix;
+     * its children are allocated as one contiguous block before recursing into them.
+     */
+    private static class Builder {
+
+        private final String[] words;
+        private int[] nodes;
+        private int size;
+        private int wordCount;
+
+        private Builder(String[] words) {
+            this.words = words;
+            this.nodes = new int[Math.max(16, words.length * 2)];
+            this.size = 1; // root
+        }
+
+        private void build() {
+            build(ROOT, 0, words.length, 0);
+        }
+
+        private void build(int node, int lo, int hi, int depth) {
+            // words[lo..hi) all share the prefix spelled by node
+            while (lo < hi && words[lo].length() == depth) { // skip duplicates as well
+                nodes[node] |= TERMINAL_BIT;
+                lo++;
+            }
+            if ((nodes[node] & TERMINAL_BIT) != 0) {
+                wordCount++;
+            }
+
+            // count distinct letters at this depth
+            int childCount = 0;
+            char prev = 0;
+            for (int i = lo; i < hi; i++) {
+                char c = words[i].charAt(depth);
+                if (c != prev) {
+                    childCount++;
+                    prev = c;
+                }
+            }
+
+            if (childCount == 0) {
+                return;
+            }
+
+            int first = allocate(childCount);
+            nodes[node] |= (childCount << COUNT_SHIFT) | (first << CHILD_SHIFT);
+
+            int child = first;
+            int start = lo;
+            for (int i = lo + 1; i <= hi; i++) {
+                if (i == hi || words[i].charAt(depth) != words[start].charAt(depth)) {
+                    nodes[child] = words[start].charAt(depth) - 'a';
+                    build(child, start, i, depth + 1);
+                    child++;
+                    start = i;
+                }
+            }
+        }
+
+        private int allocate(int count) {
+            if (size + count > MAX_NODES) {
+                throw new IllegalStateException("Word list too large for trie");
+            }
+            if (size + count > nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(nodes.length * 2, size + count));
+            }
+            int first = size;
+            size += count;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Board where each cell holds a few candidate symbols with confidences, e.g. the top OCR predictions
+ * for a photographed tile.
+ *
+ * findWords runs one trie-guided DFS over every combination at once: entering a cell branches over its
+ * candidates, and each branch is cut off as soon as its letters stop being a word prefix. A word's
+ * confidence is the product of the confidences of the candidates it uses, so it only falls as a path
+ * grows, and any branch below the caller's threshold is pruned. Candidates are kept sorted by confidence,
+ * so the first one below the threshold ends the branching for that cell.
+ */
+public class UncertainBoard {
+
+    private static final int MAX_SYMBOL_LENGTH = 2; // two-letter tiles such as "qu"
+
+    private final BoardGeometry geometry;
+    private final byte[][] codes; // candidates of each cell, most confident first
+    private final double[][] confidences;
+
+    /**
+     * @param rows number of rows on the board
+     * @param cols number of columns on the board
+     */
+    public UncertainBoard(int rows, int cols) {
+        this.geometry = BoardGeometry.of(rows, cols);
+        this.codes = new byte[geometry.cellCount][0];
+        this.confidences = new double[geometry.cellCount][0];
+    }
+
+    /**
+     * Add a candidate symbol to a cell. Adding a symbol the cell already has keeps the higher confidence.
+     *
+     * @param cell cell index, left to right and top to bottom
+     * @param symbol tile symbol, e.g. "A" or "Qu"
+     * @param confidence probability that the tile shows this symbol, from 0 to 1
+     * @throws IllegalArgumentException if the symbol is a wildcard and Symbols.MAX_WILDCARDS other cells
+     *                                  already have one
+     */
+    public void addCandidate(int cell, String symbol, double confidence) {
+        if (confidence < 0 || confidence > 1) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1: " + confidence);
+        }
+        byte code = Symbols.encode(symbol);
+        if (Symbols.isWildcard(code)) {
+            byte[] wildcards = new byte[geometry.cellCount]; // cells that could be blank, as a board
+            for (int other = 0; other < geometry.cellCount; other++) {
+                for (byte candidate : codes[other]) {
+                    if (Symbols.isWildcard(candidate)) {
+                        wildcards[other] = Symbols.WILDCARD;
+                    }
+                }
+            }
+            wildcards[cell] = Symbols.WILDCARD;
+            Symbols.checkWildcards(wildcards);
+        }
+        byte[] cellCodes = codes[cell];
+        double[] cellConfidences = confidences[cell];
+
+        int count = 0;
+        byte[] newCodes = new byte[cellCodes.length + 1];
+        double[] newConfidences = new double[cellCodes.length + 1];
+        for (int i = 0; i < cellCodes.length; i++) {
+            if (cellCodes[i] == code) {
+                confidence = Math.max(confidence, cellConfidences[i]);
+                continue;
+            }
+            newCodes[count] = cellCodes[i];
+            newConfidences[count] = cellConfidences[i];
+            count++;
+        }
+
+        // insert, keeping the most confident first
+        int position = count;
+        while (position > 0 && newConfidences[position - 1] < confidence) {
+            newCodes[position] = newCodes[position - 1];
+            newConfidences[position] = newConfidences[position - 1];
+            position--;
+        }
+        newCodes[position] = code;
+        newConfidences[position] = confidence;
+        count++;
+
+        codes[cell] = Arrays.copyOf(newCodes, count);
+        confidences[cell] = Arrays.copyOf(newConfidences, count);
+    }
+
+    public int getCandidateCount(int cell) {
+        return codes[cell].length;
+    }
+
+    /**
+     * @return the most confident symbol of each cell, as shown on a tile, e.g. "A" or "Qu"
+     * @throws IllegalStateException if a cell has no candidates
+     */
+    public ArrayList<String> getMostLikelySymbols() {
+        ArrayList<String> symbols = new ArrayList<>(geometry.cellCount);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            if (codes[cell].length == 0) {
+                throw new IllegalStateException("No candidates for cell " + cell);
+            }
+            symbols.add(Symbols.display(codes[cell][0]));
+        }
+        return symbols;
+    }
+
+    /**
+     * @param dictionary dictionary to solve against
+     * @param rules sets the minimum word length
+     * @param minConfidence words (and branches) less likely than this are dropped
+     * @return every word found with the highest confidence of any path and choice of candidates spelling it
+     */
+    public HashMap<String, Double> findWords(Trie dictionary, ScoringRules rules, double minConfidence) {
+        Search search = new Search(dictionary, rules.getMinWordLength(), minConfidence);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            search.enter(cell, Trie.ROOT, 0, 0, 1.0);
+        }
+        return search.words;
+    }
+
+    private class Search {
+
+        private final Trie dictionary;
+        private final int minWordLength;
+        private final double minConfidence;
+        private final char[] wordBuffer = new char[geometry.cellCount * MAX_SYMBOL_LENGTH];
+        private final HashMap<String, Double> words = new HashMap<>();
+
+        private Search(Trie dictionary, int minWordLength, double minConfidence) {
+            this.dictionary = dictionary;
+            this.minWordLength = minWordLength;
+            this.minConfidence = minConfidence;
+        }
+
+        /**
+         * Extend a path into a cell with each of its candidates in turn.
+         *
+         * @param cell cell to enter. Not on the path yet.
+         * @param node trie node of the path so far
+         * @param length letters spelled so far
+         * @param visited cells on the path so far
+         * @param confidence combined confidence of the path so far
+         */
+        private void enter(int cell, int node, int length, long visited, double confidence) {
+            byte[] cellCodes = codes[cell];
+            double[] cellConfidences = confidences[cell];
+            visited |= 1L << cell;
+
+            for (int i = 0; i < cellCodes.length; i++) {
+                double combined = confidence * cellConfidences[i];
+                if (combined < minConfidence) {
+                    break; // the rest are less confident still
+                }
+                if (Symbols.isWildcard(cellCodes[i])) {
+                    int first = dictionary.firstChild(node);
+                    for (int child = first; child < first + dictionary.childCount(node); child++) {
+                        wordBuffer[length] = dictionary.letter(child);
+                        extend(cell, child, length + 1, visited, combined);
+                    }
+                    continue;
+                }
+                char[] letters = Symbols.letters(cellCodes[i]);
+                int child = dictionary.walk(node, letters);
+                if (child == Trie.NONE) {
+                    continue;
+                }
+                System.arraycopy(letters, 0, wordBuffer, length, letters.length);
+                extend(cell, child, length + letters.length, visited, combined);
+            }
+        }
+
+        /**
+         * Record the word spelled so far, if it is one, and continue into the cell's neighbours.
+         *
+         * @param cell last cell of the path, already in visited
+         * @param node trie node of the path including the cell's chosen candidate
+         */
+        private void extend(int cell, int node, int length, long visited, double confidence) {
+            if (length >= minWordLength && dictionary.isWord(node)) {
+                String word = new String(wordBuffer, 0, length);
+                Double best = words.get(word);
+                if (best == null || best < confidence) {
+                    words.put(word, confidence);
+                }
+            }
+
+            if (dictionary.hasChildren(node)) {
+                long pending = geometry.adjacency[cell] & ~visited;
+                while (pending != 0) {
+                    int next = Long.numberOfTrailingZeros(pending);
+                    pending &= pending - 1;
+                    enter(next, node, length, visited, confidence);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * The cells that spell each word found by a solve with path recording on (see Boggle.setRecordPaths).
+ * Only the first path the search finds is kept for each word.
+ *
+ * Paths are packed into longs, first cell in the lowest bits. Boards of up to 16 cells use 4 bits per cell,
+ * so a whole 4x4 path fits in one long (getPackedPath). Larger boards use 6 bits per cell, 10 cells to a
+ * long, with as many longs per path as the longest possible path needs.
+ */
+public class WordPaths {
+
+    private final int bitsPerCell;
+    private final int cellsPerLong;
+    private final int stride; // longs per path
+    private final HashMap<String, Integer> index = new HashMap<>(); // word -> path number
+    private long[] packed;
+    private byte[] lengths; // cells in each path
+
+    WordPaths(int cellCount) {
+        this.bitsPerCell = cellCount <= 16 ? 4 : 6;
+        this.cellsPerLong = 64 / bitsPerCell;
+        this.stride = (cellCount + cellsPerLong - 1) / cellsPerLong;
+        this.packed = new long[64 * stride];
+        this.lengths = new byte[64];
+    }
+
+    /**
+     * @param word word found by the search
+     * @param cells stack of cells the word was spelled from
+     * @param cellCount number of cells on the stack that make up the path
+     */
+    void add(String word, int[] cells, int cellCount) {
+        int path = index.size();
+        if (path == lengths.length) {
+            lengths = Arrays.copyOf(lengths, path * 2);
+            packed = Arrays.copyOf(packed, path * 2 * stride);
+        }
+        int base = path * stride;
+        for (int i = 0; i < cellCount; i++) {
+            packed[base + i / cellsPerLong] |= (long) cells[i] << (bitsPerCell * (i % cellsPerLong));
+        }
+        lengths[path] = (byte) cellCount;
+        index.put(word, path);
+    }
+
+    /**
+     * @return every word with a recorded path
+     */
+    public Set<String> getWords() {
+        return index.keySet();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @param word word on the board
+     * @return cells spelling the word, in order, or null if the word wasn't found
+     */
+    public int[] getPath(String word) {
+        Integer path = index.get(word);
+        if (path == null) {
+            return null;
+        }
+        int[] cells = new int[lengths[path]];
+        long mask = (1L << bitsPerCell) - 1;
+        int base = path * stride;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (int) ((packed[base + i / cellsPerLong] >>> (bitsPerCell * (i % cellsPerLong))) & mask);
+        }
+        return cells;
+    }
+
+    /**
+     * @param word word on the board
+     * @return number of cells in the word's path, or 0 if the word wasn't found
+     */
+    public int getPathLength(String word) {
+        Integer path = index.get(word);
+        return path == null ? 0 : lengths[path];
+    }
+
+    /**
+     * Boards of up to 16 cells only.
+     *
+     * @param word word on the board
+     * @return the word's path as 4-bit cell indices, first cell in the lowest bits; see unpack
+     * @throws IllegalArgumentException if the word wasn't found
+     * @throws IllegalStateException if the board has more than 16 cells
+     */
+    public long getPackedPath(String word) {
+        if (bitsPerCell != 4) {
+            throw new IllegalStateException("Paths on boards over 16 cells don't fit in one long; use getPath");
+        }
+        Integer path = index.get(word);
+        if (path == null) {
+            throw new IllegalArgumentException("No path for " + word);
+        }
+        return packed[path];
+    }
+
+    /**
+     * @param packedPath path from getPackedPath
+     * @param length number of cells in the path, from getPathLength
+     * @return cells of the path, in order
+     */
+    public static int[] unpack(long packedPath, int length) {
+        int[] cells = new int[length];
+        for (int i = 0; i < length; i++) {
+            cells[i] = (int) ((packedPath >>> (4 * i)) & 0xF);
+        }
+        return cells;
+    }
+}
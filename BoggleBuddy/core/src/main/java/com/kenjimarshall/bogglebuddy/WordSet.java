@@ -0,0 +1,102 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.Arrays;
+
+/**
+ * Set of words stored as characters in one shared pool, for deduplicating words found by the search
+ * without creating a String per word. Open addressing with linear probing; the arrays only grow, so once
+ * a set has seen its largest board, clear() and add() don't allocate.
+ */
+final class WordSet {
+
+    private int[] table; // entry index + 1 per slot, 0 if empty
+    private int[] hashes; // per entry
+    private int[] offsets; // entry i is pool[offsets[i], offsets[i + 1])
+    private char[] pool;
+    private int size;
+
+    WordSet() {
+        this.table = new int[256];
+        this.hashes = new int[128];
+        this.offsets = new int[129];
+        this.pool = new char[1024];
+    }
+
+    /**
+     * @param word buffer holding the word
+     * @param length number of characters of the buffer in the word
+     * @return true if the word wasn't in the set yet
+     */
+    boolean add(char[] word, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + word[i];
+        }
+
+        int mask = table.length - 1;
+        int slot = mix(hash) & mask;
+        while (table[slot] != 0) {
+            int entry = table[slot] - 1;
+            if (hashes[entry] == hash && equals(entry, word, length)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size + 1 == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            offsets = Arrays.copyOf(offsets, hashes.length + 1);
+        }
+        int start = offsets[size];
+        if (start + length > pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length * 2, start + length));
+        }
+        System.arraycopy(word, 0, pool, start, length);
+        hashes[size] = hash;
+        offsets[size + 1] = start + length;
+        table[slot] = ++size;
+
+        if (size * 2 > table.length) { // keep the load factor under a half
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+
+    private boolean equals(int entry, char[] word, int length) {
+        int start = offsets[entry];
+        if (offsets[entry + 1] - start != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (pool[start + i] != word[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = mix(hashes[entry]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry + 1;
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
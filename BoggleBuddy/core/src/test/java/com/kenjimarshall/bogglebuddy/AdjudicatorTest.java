@@ -0,0 +1,145 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdjudicatorTest {
+
+    private static Trie dictionary;
+    private Adjudicator adjudicator;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        dictionary = Trie.build(TestWords.get());
+    }
+
+    @Before
+    public void setUp() {
+        adjudicator = new Adjudicator(dictionary, ScoringRules.OFFICIAL, 2);
+    }
+
+    @After
+    public void tearDown() {
+        adjudicator.shutdown();
+    }
+
+    @Test
+    public void cancelsSharedWords() {
+        PackedBoard board = PackedBoard.parse("catxxsxxx", 3, 3);
+        Adjudicator.Result result = adjudicator.adjudicate(board, Arrays.asList(
+                Arrays.asList("cat", "CATS", "cats", "dog"),
+                Arrays.asList(" cat ", "at")));
+
+        assertEquals(Arrays.asList("cats"), result.getScoredWords(0));
+        assertEquals(Collections.<String>emptyList(), result.getScoredWords(1));
+        assertEquals(Arrays.asList("cat"), result.getCancelledWords());
+        assertEquals(Arrays.asList("dog"), result.getRejectedWords(0));
+        assertEquals(Arrays.asList("at"), result.getRejectedWords(1));
+        assertEquals(1, result.getScore(0));
+        assertEquals(0, result.getScore(1));
+    }
+
+    @Test
+    public void matchesStringReference() throws InterruptedException {
+        Random random = new Random(24);
+        Boggle solver = new Boggle(BoardGeometry.of(4, 4), dictionary);
+        solver.setRules(ScoringRules.OFFICIAL);
+        ArrayList<PackedBoard> boards = new ArrayList<>();
+        ArrayList<List<List<String>>> games = new ArrayList<>();
+        ArrayList<HashSet<String>> onBoard = new ArrayList<>();
+        ArrayList<Integer> maxScores = new ArrayList<>();
+        for (int game = 0; game < 40; game++) {
+            PackedBoard board = PackedBoard.of(TestBoards.random(random, 16), 4, 4);
+            solver.setBoard(board);
+            ArrayList<String> valid = new ArrayList<>();
+            for (String[] group : solver.findWords().values()) {
+                valid.addAll(Arrays.asList(group));
+            }
+
+            List<List<String>> players = new ArrayList<>();
+            for (int p = 0; p < 1 + random.nextInt(4); p++) {
+                ArrayList<String> words = new ArrayList<>();
+                for (int i = 0; i < 15; i++) {
+                    int kind = random.nextInt(10);
+                    if (kind < 7 && !valid.isEmpty()) {
+                        words.add(valid.get(random.nextInt(valid.size())));
+                    }
+                    else if (kind < 8) {
+                        words.add(dictionary.word(random.nextInt(dictionary.getWordCount()))); // probably not on it
+                    }
+                    else if (kind < 9) {
+                        words.add("zq" + random.nextInt(100)); // not a word
+                    }
+                    else {
+                        words.add("at"); // too short
+                    }
+                }
+                players.add(words);
+            }
+            boards.add(board);
+            games.add(players);
+            onBoard.add(new HashSet<>(valid));
+            maxScores.add(solver.getScore());
+        }
+
+        List<Adjudicator.Result> results = adjudicator.adjudicateAll(boards, games);
+        for (int game = 0; game < games.size(); game++) {
+            assertEquals((int) maxScores.get(game), results.get(game).getMaxScore());
+            checkGame(onBoard.get(game), games.get(game), results.get(game));
+        }
+    }
+
+    private static void checkGame(HashSet<String> onBoard, List<List<String>> players, Adjudicator.Result result) {
+        HashMap<String, Integer> finders = new HashMap<>();
+        for (List<String> words : players) {
+            for (String word : new HashSet<>(words)) {
+                if (onBoard.contains(word)) {
+                    finders.put(word, finders.containsKey(word) ? finders.get(word) + 1 : 1);
+                }
+            }
+        }
+
+        TreeSet<String> cancelled = new TreeSet<>();
+        for (String word : finders.keySet()) {
+            if (finders.get(word) > 1) {
+                cancelled.add(word);
+            }
+        }
+        assertEquals(new ArrayList<>(cancelled), result.getCancelledWords());
+        assertEquals(onBoard.size(), result.getPossibleWordCount());
+
+        for (int p = 0; p < players.size(); p++) {
+            TreeSet<String> scored = new TreeSet<>();
+            ArrayList<String> rejected = new ArrayList<>();
+            for (String word : players.get(p)) {
+                if (!onBoard.contains(word)) {
+                    rejected.add(word);
+                }
+                else if (!cancelled.contains(word)) {
+                    scored.add(word);
+                }
+            }
+            int score = 0;
+            for (String word : scored) {
+                score += ScoringRules.OFFICIAL.points(word.length());
+            }
+            assertEquals(new ArrayList<>(scored), result.getScoredWords(p));
+            assertEquals(rejected, result.getRejectedWords(p));
+            assertEquals(score, result.getScore(p));
+        }
+    }
+}
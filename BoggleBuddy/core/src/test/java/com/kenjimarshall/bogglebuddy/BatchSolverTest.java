@@ -0,0 +1,86 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchSolverTest {
+
+    private static Trie dictionary;
+
+    private BatchSolver solver;
+    private ArrayList<ArrayList<String>> boards;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        dictionary = Trie.build(TestWords.get());
+    }
+
+    @Before
+    public void setUp() {
+        solver = new BatchSolver(dictionary, 4, 5, 4);
+        boards = new ArrayList<>();
+        Random random = new Random(6);
+        for (int i = 0; i < 200; i++) {
+            boards.add(TestBoards.random(random, 20));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        solver.shutdown();
+    }
+
+    @Test
+    public void matchesSerialSolve() throws InterruptedException {
+        List<HashMap<Integer, String[]>> words = solver.solveBoards(boards);
+        int[] scores = solver.scoreBoards(boards);
+
+        Boggle serial = new Boggle(BoardGeometry.of(4, 5), dictionary);
+        for (int i = 0; i < boards.size(); i++) {
+            serial.setSymbols(boards.get(i));
+            assertEquals(TestBoards.byLength(serial.findWords()), TestBoards.byLength(words.get(i)));
+            assertEquals(serial.getScore(), scores[i]);
+        }
+    }
+
+    @Test
+    public void streamsEveryBoard() throws InterruptedException {
+        final int[] scores = solver.scoreBoards(boards);
+        final AtomicInteger solved = new AtomicInteger();
+        final AtomicInteger mismatches = new AtomicInteger();
+        solver.solveBoards(boards.iterator(), new BatchSolver.BoardListener() {
+            @Override
+            public void onBoardSolved(int index, List<String> symbols, HashMap<Integer, String[]> words, int score) {
+                solved.incrementAndGet();
+                if (symbols != boards.get(index) || score != scores[index]) {
+                    mismatches.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(boards.size(), solved.get());
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void parallelSolveMatchesSerial() {
+        Boggle board = new Boggle(BoardGeometry.of(4, 5), dictionary);
+        for (ArrayList<String> symbols : boards.subList(0, 50)) {
+            board.setSymbols(symbols);
+            HashMap<Integer, String[]> serial = board.findWords();
+            int score = board.getScore();
+            assertEquals(TestBoards.byLength(serial), TestBoards.byLength(board.findWordsParallel()));
+            assertEquals(score, board.getScore());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoardGeneratorTest {
+
+    // one face per die, so each letter on a board names its die
+    private static final String[] LETTER_DICE = {
+            "A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M",
+            "N", "O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y"};
+
+    private static Trie dictionary;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        dictionary = Trie.build(TestWords.get());
+    }
+
+    @Test
+    public void rollsEveryDieOfALargerSet() {
+        BoardGenerator.TileModel dice = BoardGenerator.dice(LETTER_DICE);
+        Random random = new Random(18);
+        HashSet<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            PackedBoard board = BoardGenerator.roll(dice, random, 4, 4);
+            HashSet<Integer> onBoard = new HashSet<>();
+            for (int cell = 0; cell < board.getCellCount(); cell++) {
+                onBoard.add(board.getCode(cell));
+            }
+            assertEquals("each die at most once", 16, onBoard.size());
+            seen.addAll(onBoard);
+        }
+        assertEquals(LETTER_DICE.length, seen.size());
+    }
+
+    @Test
+    public void reusesASmallerSet() {
+        PackedBoard board = BoardGenerator.roll(BoardGenerator.dice(new String[] {"A", "B"}), new Random(18), 2, 2);
+        int as = 0;
+        for (int cell = 0; cell < 4; cell++) {
+            as += board.getCode(cell) == 0 ? 1 : 0;
+        }
+        assertEquals(2, as);
+    }
+
+    @Test
+    public void keepsBlanksWithinLimit() throws InterruptedException {
+        String[] dice = {"?", "?", "?", "?", "A?", "B", "C", "D", "E", "S", "T", "O", "R"};
+        BoardGenerator.TileModel model = BoardGenerator.dice(dice);
+        Random random = new Random(22);
+        for (int i = 0; i < 200; i++) {
+            assertTrue(countBlanks(BoardGenerator.roll(model, random, 3, 3)) <= Symbols.MAX_WILDCARDS);
+        }
+
+        BoardGenerator generator = new BoardGenerator(dictionary, 3, 3, model, 2);
+        try {
+            for (BoardGenerator.Result result : generator.generate(4, 200, BoardGenerator.Objective.SCORE, -1, 22)) {
+                assertTrue(countBlanks(result.getBoard()) <= Symbols.MAX_WILDCARDS);
+            }
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsModelOfBlanks() {
+        BoardGenerator.roll(BoardGenerator.dice(new String[] {"?"}), new Random(22), 2, 2);
+    }
+
+    @Test
+    public void drawsQAsQu() {
+        double[] weights = new double[26];
+        weights['q' - 'a'] = 1;
+        PackedBoard board = BoardGenerator.roll(BoardGenerator.letterFrequencies(weights), new Random(18), 2, 2);
+        assertEquals("QuQuQuQu", board.toString());
+    }
+
+    @Test
+    public void resultsMatchAFreshSolve() throws InterruptedException {
+        BoardGenerator generator = new BoardGenerator(dictionary, 4, 4,
+                BoardGenerator.dice(BoardGenerator.NEW_BOGGLE_DICE), 2);
+        try {
+            List<BoardGenerator.Result> results = generator.generate(4, 300, BoardGenerator.Objective.SCORE, -1, 5);
+            List<BoardGenerator.Result> again = generator.generate(4, 300, BoardGenerator.Objective.SCORE, -1, 5);
+            Boggle board = new Boggle(BoardGeometry.of(4, 4), dictionary);
+            for (int i = 0; i < results.size(); i++) {
+                BoardGenerator.Result result = results.get(i);
+                assertEquals("reproducible", result.getBoard(), again.get(i).getBoard());
+                board.setBoard(result.getBoard());
+                board.findWords();
+                assertEquals(board.getScore(), result.getScore());
+            }
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    @Test
+    public void scoresWithGivenRules() {
+        BoardGenerator generator = new BoardGenerator(dictionary, 4, 4, ScoringRules.BIG_BOGGLE,
+                BoardGenerator.dice(BoardGenerator.NEW_BOGGLE_DICE), 1);
+        try {
+            BoardGenerator.Result result = generator.anneal(new Random(19), 200, BoardGenerator.Objective.SCORE, -1);
+            Boggle board = new Boggle(BoardGeometry.of(4, 4), dictionary);
+            board.setRules(ScoringRules.BIG_BOGGLE);
+            board.setBoard(result.getBoard());
+            assertEquals(board.scoreWords(), result.getScore());
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    @Test
+    public void hitsTargetWordCount() {
+        BoardGenerator generator = new BoardGenerator(dictionary, 4, 4,
+                BoardGenerator.letterFrequencies(BoardGenerator.ENGLISH_FREQUENCIES), 1);
+        try {
+            BoardGenerator.Result result = generator.anneal(new Random(18), 5000,
+                    BoardGenerator.Objective.WORD_COUNT, 40);
+            assertEquals(40, result.getWordCount());
+            assertTrue(result.getScore() >= 40);
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    private static int countBlanks(PackedBoard board) {
+        int blanks = 0;
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            blanks += Symbols.isWildcard(board.getCode(cell)) ? 1 : 0;
+        }
+        return blanks;
+    }
+}
@@ -0,0 +1,184 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BoggleTest {
+
+    private static Trie dictionary;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        dictionary = Trie.build(TestWords.get());
+    }
+
+    @Test
+    public void findsWords() {
+        Boggle board = smallBoard();
+        assertArrayEquals(new String[] {"cat", "tax"}, board.findWords().get(3));
+        assertEquals(2, board.getScore());
+    }
+
+    @Test
+    public void recordsPaths() {
+        Boggle board = smallBoard();
+        board.setRecordPaths(true);
+        board.findWords();
+        assertArrayEquals(new int[] {0, 1, 2}, board.getPaths().getPath("cat"));
+    }
+
+    @Test
+    public void recordedPathsSpellTheirWords() {
+        Random random = new Random(20);
+        for (int size = 4; size <= 5; size++) {
+            Boggle board = new Boggle(BoardGeometry.of(size, size), dictionary);
+            board.setRecordPaths(true);
+            for (int i = 0; i < 20; i++) {
+                board.setSymbols(TestBoards.random(random, size * size));
+                int words = 0;
+                for (String[] group : board.findWords().values()) {
+                    for (String word : group) {
+                        assertPathSpells(board, size, word, board.getPaths().getPath(word));
+                        words++;
+                    }
+                }
+                assertEquals(words, board.getPaths().size());
+            }
+        }
+    }
+
+    @Test
+    public void otherSolvesClearPaths() {
+        Boggle board = smallBoard();
+        board.setRecordPaths(true);
+        board.findWords();
+        assertNotNull(board.getPaths());
+        board.scoreWords();
+        assertNull(board.getPaths());
+
+        board.findWords();
+        board.findWordIds();
+        assertNull(board.getPaths());
+
+        board.findWords();
+        board.findWordsParallel();
+        assertNull(board.getPaths());
+    }
+
+    @Test
+    public void wordIdsMatchFindWords() {
+        Random random = new Random(23);
+        Boggle board = new Boggle(BoardGeometry.of(5, 5), dictionary);
+        for (int i = 0; i < 30; i++) {
+            board.setSymbols(TestBoards.random(random, 25));
+            ArrayList<String> expected = new ArrayList<>();
+            for (String[] group : board.findWords().values()) {
+                expected.addAll(Arrays.asList(group));
+            }
+            Collections.sort(expected);
+            int score = board.getScore();
+
+            int[] ids = board.findWordIds();
+            ArrayList<String> words = new ArrayList<>();
+            for (int id : ids) {
+                words.add(dictionary.word(id));
+            }
+            assertEquals(expected, words);
+            assertEquals(score, board.getScore());
+            assertEquals(ids.length, board.findWordBits().cardinality());
+        }
+    }
+
+    @Test
+    public void scoresWithRules() {
+        ScoringRules[] rules = {ScoringRules.OFFICIAL, ScoringRules.BIG_BOGGLE, ScoringRules.linear(3)};
+        Random random = new Random(19);
+        Boggle board = new Boggle(BoardGeometry.of(5, 5), dictionary);
+        for (int i = 0; i < 30; i++) {
+            board.setSymbols(TestBoards.random(random, 25));
+            for (ScoringRules rule : rules) {
+                board.setRules(rule);
+                int score = 0;
+                int count = 0;
+                for (String[] group : board.findWords().values()) {
+                    for (String word : group) {
+                        assertTrue(word, word.length() >= rule.getMinWordLength());
+                        score += rule.points(word.length());
+                        count++;
+                    }
+                }
+                assertEquals(score, board.getScore());
+                assertEquals(count, board.getWordCount());
+                assertEquals(score, board.scoreWords());
+            }
+        }
+    }
+
+    @Test
+    public void defaultsToRulesForSize() {
+        assertEquals(ScoringRules.OFFICIAL, new Boggle(BoardGeometry.of(4, 4), dictionary).getRules());
+        assertEquals(ScoringRules.BIG_BOGGLE, new Boggle(BoardGeometry.of(5, 5), dictionary).getRules());
+        assertEquals(ScoringRules.BIG_BOGGLE, new Boggle(BoardGeometry.of(3, 6), dictionary).getRules());
+    }
+
+    @Test
+    public void streamedWordsMatchFindWords() {
+        Random random = new Random(12);
+        for (int size = 4; size <= 6; size++) {
+            Boggle board = new Boggle(BoardGeometry.of(size, size), dictionary);
+            for (int i = 0; i < 30; i++) {
+                board.setSymbols(TestBoards.random(random, size * size));
+                HashSet<String> expected = new HashSet<>();
+                for (String[] group : board.findWords().values()) {
+                    expected.addAll(Arrays.asList(group));
+                }
+                int score = board.getScore();
+
+                final List<String> streamed = new ArrayList<>();
+                int count = board.findWords(new Boggle.WordListener() {
+                    @Override
+                    public void onWord(String word) {
+                        streamed.add(word);
+                    }
+                });
+                assertEquals(streamed.size(), count);
+                assertEquals(expected, new HashSet<>(streamed));
+                assertEquals("no duplicates", expected.size(), streamed.size());
+                assertEquals(score, board.getScore());
+            }
+        }
+    }
+
+    private static Boggle smallBoard() {
+        return new Boggle(Symbols.parseBoard("catxxxxxx", 9), 3, 3, Trie.build(Arrays.asList("cat", "tax", "act")));
+    }
+
+    private static void assertPathSpells(Boggle board, int size, String word, int[] path) {
+        StringBuilder spelled = new StringBuilder();
+        HashSet<Integer> used = new HashSet<>();
+        for (int i = 0; i < path.length; i++) {
+            spelled.append(Symbols.decode(board.getCell(path[i])));
+            assertTrue(word + " reuses a cell", used.add(path[i]));
+            if (i > 0) {
+                int rowStep = Math.abs(path[i] / size - path[i - 1] / size);
+                int colStep = Math.abs(path[i] % size - path[i - 1] % size);
+                assertTrue(word + " jumps", rowStep <= 1 && colStep <= 1);
+            }
+        }
+        assertEquals(word, spelled.toString());
+    }
+}
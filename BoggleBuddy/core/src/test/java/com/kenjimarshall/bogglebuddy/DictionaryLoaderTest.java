@@ -0,0 +1,66 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DictionaryLoaderTest {
+
+    private static final byte[] WORD_LIST = "cat\ncats\ndog\n".getBytes();
+
+    @Test
+    public void loadsWordListStream() throws IOException {
+        assertDictionary(DictionaryLoader.load(new ByteArrayInputStream(WORD_LIST)));
+    }
+
+    @Test
+    public void loadsImageStream() throws IOException {
+        assertDictionary(DictionaryLoader.load(new ByteArrayInputStream(image())));
+    }
+
+    @Test
+    public void loadsShortWordList() throws IOException {
+        Trie trie = DictionaryLoader.load(new ByteArrayInputStream("at".getBytes()));
+        assertEquals(1, trie.getWordCount());
+        assertTrue(trie.contains("at"));
+    }
+
+    @Test
+    public void loadsFiles() throws IOException {
+        Path list = Files.createTempFile("words", ".txt");
+        Path image = Files.createTempFile("words", ".dict");
+        try {
+            Files.write(list, WORD_LIST);
+            Files.write(image, image());
+            assertDictionary(DictionaryLoader.load(list));
+            assertDictionary(DictionaryLoader.load(image));
+        } finally {
+            Files.delete(list);
+            Files.delete(image);
+        }
+    }
+
+    private static byte[] image() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Trie.build(Arrays.asList("cat", "cats", "dog")).minimize().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static void assertDictionary(Trie trie) {
+        assertEquals(3, trie.getWordCount());
+        assertTrue(trie.contains("cat"));
+        assertTrue(trie.contains("cats"));
+        assertTrue(trie.contains("dog"));
+        assertFalse(trie.contains("do"));
+        assertTrue(trie.containsPrefix("do"));
+    }
+}
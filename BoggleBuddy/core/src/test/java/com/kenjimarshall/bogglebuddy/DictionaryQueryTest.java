@@ -0,0 +1,93 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class DictionaryQueryTest {
+
+    private DictionaryQuery query;
+
+    @Before
+    public void setUp() {
+        query = new DictionaryQuery(Trie.build(Arrays.asList(
+                "cat", "cats", "coat", "cot", "act", "tack", "taco", "dog", "dogs")).minimize());
+    }
+
+    @Test
+    public void listsPrefix() {
+        assertEquals(Arrays.asList("cat", "cats"), query.withPrefix("CA", 10));
+        assertEquals(Arrays.asList("act", "cat"), query.withPrefix("", 2));
+        assertEquals(2, query.countWithPrefix("dog"));
+    }
+
+    @Test
+    public void matchesPattern() {
+        assertEquals(Arrays.asList("cat", "cot"), query.matching("c?t", 10));
+        assertEquals(Arrays.asList("cats", "dogs"), query.matching("*s", 10));
+        assertEquals(Arrays.asList("cat", "coat", "cot"), query.matching("c*t", 10));
+        assertEquals(Arrays.asList("cat"), query.matching("c*t", 1));
+    }
+
+    @Test
+    public void findsSubAnagrams() {
+        assertEquals(Arrays.asList("act", "cat", "coat", "cot", "taco"), query.subAnagrams("tocab", 3, 10));
+        assertEquals(Arrays.asList("act", "cat", "cats", "coat", "cot", "tack", "taco"), query.subAnagrams("tac?", 3, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidPattern() {
+        query.matching("c-t", 10);
+    }
+
+    @Test
+    public void matchesWordListScan() throws IOException {
+        List<String> words = TestWords.get();
+        DictionaryQuery full = new DictionaryQuery(Trie.build(words).minimize());
+        String[] patterns = {"c?t", "*ing", "*xyz", "*q*z*", "??", "qu*", "*a?e*", "s??t*s"};
+        for (String pattern : patterns) {
+            String regex = pattern.replace("?", "[a-z]").replace("*", "[a-z]*");
+            ArrayList<String> expected = new ArrayList<>();
+            for (String word : words) {
+                if (word.matches(regex)) {
+                    expected.add(word);
+                }
+            }
+            List<String> found = full.matching(pattern, Integer.MAX_VALUE);
+            assertEquals(pattern, expected, found);
+            assertEquals(pattern, expected.subList(0, Math.min(200, expected.size())), full.matching(pattern, 200));
+        }
+
+        Random random = new Random(25);
+        for (int i = 0; i < 20; i++) {
+            String letters = TestBoards.random(random, 7).toString().replaceAll("[^A-Za-z]", "").toLowerCase();
+            ArrayList<String> expected = new ArrayList<>();
+            for (String word : words) {
+                if (word.length() >= 3 && spells(letters, word)) {
+                    expected.add(word);
+                }
+            }
+            assertEquals(letters, expected, full.subAnagrams(letters, 3, Integer.MAX_VALUE));
+        }
+    }
+
+    private static boolean spells(String letters, String word) {
+        int[] counts = new int[26];
+        for (int i = 0; i < letters.length(); i++) {
+            counts[letters.charAt(i) - 'a']++;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (--counts[word.charAt(i) - 'a'] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class IncrementalSolverTest {
+
+    private static Trie dictionary;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        dictionary = Trie.build(TestWords.get());
+    }
+
+    @Test
+    public void editsMatchFreshSolve4x4() {
+        checkEdits(4, 4, 11);
+    }
+
+    @Test
+    public void editsMatchFreshSolve5x5() {
+        checkEdits(5, 5, 12);
+    }
+
+    @Test
+    public void editsMatchFreshSolveNonSquare() {
+        checkEdits(3, 6, 13);
+    }
+
+    private static void checkEdits(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        ArrayList<String> symbols = TestBoards.random(random, rows * cols);
+        Boggle board = new Boggle(BoardGeometry.of(rows, cols), dictionary);
+        board.setSymbols(symbols);
+        IncrementalSolver solver = new IncrementalSolver(board);
+        Boggle fresh = new Boggle(BoardGeometry.of(rows, cols), dictionary);
+
+        for (int edit = 0; edit < 300; edit++) {
+            int cell = random.nextInt(symbols.size());
+            String symbol = TestBoards.randomSymbol(random);
+            symbols.set(cell, symbol);
+            solver.setSymbol(cell, symbol);
+
+            fresh.setSymbols(symbols);
+            HashMap<Integer, String[]> expected = fresh.findWords();
+            String message = "edit " + edit + " on " + symbols;
+            assertEquals(message, TestBoards.byLength(expected), TestBoards.byLength(solver.getWords()));
+            assertEquals(message, fresh.getScore(), solver.getScore());
+            assertEquals(message, words(expected), solver.getWordSet());
+        }
+    }
+
+    private static HashSet<String> words(HashMap<Integer, String[]> byLength) {
+        HashSet<String> words = new HashSet<>();
+        for (String[] group : byLength.values()) {
+            for (String word : group) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,68 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class PackedBoardTest {
+
+    @Test
+    public void roundTripsRandomBoards() {
+        Random random = new Random(17);
+        for (int size = 3; size <= 6; size++) {
+            for (int i = 0; i < 100; i++) {
+                ArrayList<String> symbols = TestBoards.random(random, size * size);
+                PackedBoard board = PackedBoard.of(symbols, size, size);
+                assertEquals(symbols, board.toSymbols());
+                assertEquals(board, PackedBoard.parse(board.toString(), size, size));
+
+                byte[] codes = new byte[board.getCellCount()];
+                board.getCodes(codes);
+                assertEquals(board, PackedBoard.fromCodes(codes, size, size));
+                for (int cell = 0; cell < codes.length; cell++) {
+                    assertEquals(codes[cell], board.getCode(cell));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void storesLoneQAsQu() {
+        byte[] codes = {'q' - 'a', 'i' - 'a', 't' - 'a', 'e' - 'a'};
+        PackedBoard board = PackedBoard.fromCodes(codes, 2, 2);
+        assertEquals(Symbols.QU, board.getCode(0));
+        assertEquals(PackedBoard.parse("quite", 2, 2), board);
+        assertEquals(board, PackedBoard.parse(board.toString(), 2, 2));
+        assertEquals(board, PackedBoard.parse("aite", 2, 2).withCode(0, 'q' - 'a'));
+    }
+
+    @Test
+    public void withCodeChangesOneCell() {
+        PackedBoard board = PackedBoard.parse("abcdefghijklmnop", 4, 4);
+        PackedBoard changed = board.withCode(13, 'z' - 'a');
+        assertEquals("ABCDEFGHIJKLMZOP", changed.toString());
+        assertEquals("ABCDEFGHIJKLMNOP", board.toString());
+        assertNotEquals(board, changed);
+        assertEquals(board, changed.withCode(13, 'n' - 'a'));
+        assertEquals(board.hashCode(), changed.withCode(13, 'n' - 'a').hashCode());
+    }
+
+    @Test
+    public void shapeIsPartOfEquality() {
+        assertNotEquals(PackedBoard.parse("abcdef", 2, 3), PackedBoard.parse("abcdef", 3, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidCode() {
+        PackedBoard.fromCodes(new byte[] {0, 1, 2, Symbols.COUNT}, 2, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsCellOutsideBoard() {
+        PackedBoard.parse("abcd", 2, 2).withCode(4, 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SolveCacheTest {
+
+    private Trie dictionary;
+
+    @Before
+    public void setUp() {
+        dictionary = Trie.build(Arrays.asList("cat", "tax", "axe", "dog"));
+    }
+
+    @Test
+    public void solvesBoard() {
+        SolveCache cache = new SolveCache(dictionary, 4);
+        SolveCache.Solution solution = cache.solve(PackedBoard.parse("catxxxxxx", 3, 3));
+
+        assertArrayEquals(new String[] {"cat", "tax"}, solution.getWords().get(3));
+        assertNull(solution.getWords().get(4));
+        assertEquals(2, solution.getScore());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void mirroredBoardHits() {
+        SolveCache cache = new SolveCache(dictionary, 4);
+        SolveCache.Solution original = cache.solve(PackedBoard.parse("catxxxxxx", 3, 3));
+        SolveCache.Solution mirrored = cache.solve(PackedBoard.parse("tacxxxxxx", 3, 3));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+        assertArrayEquals(original.getWords().get(3), mirrored.getWords().get(3));
+        assertEquals(original.getScore(), mirrored.getScore());
+    }
+
+    @Test
+    public void cachesEachRulesSeparately() {
+        SolveCache cache = new SolveCache(dictionary, ScoringRules.linear(3), 4);
+        assertEquals(2, cache.solve(PackedBoard.parse("catxxxxxx", 3, 3)).getScore());
+        SolveCache.Solution bigBoggle = cache.solve(PackedBoard.parse("catxxxxxx", 3, 3), ScoringRules.BIG_BOGGLE);
+
+        assertEquals(0, bigBoggle.getScore());
+        assertNull(bigBoggle.getWords().get(3));
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        SolveCache cache = new SolveCache(dictionary, 1);
+        cache.solve(PackedBoard.parse("catxxxxxx", 3, 3));
+        cache.solve(PackedBoard.parse("dogxxxxxx", 3, 3));
+        cache.solve(PackedBoard.parse("catxxxxxx", 3, 3));
+
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class SymbolsTest {
+
+    @Test
+    public void parsesBoardEntry() {
+        assertEquals(Arrays.asList("A", "B", "C", "D"), Symbols.parseBoard(" ab cd ", 4));
+    }
+
+    @Test
+    public void couplesQAndU() {
+        assertEquals(Arrays.asList("Qu", "I", "T"), Symbols.parseBoard("quit", 3));
+        assertEquals(Arrays.asList("Qu", "U", "T", "H"), Symbols.parseBoard("quth", 4));
+    }
+
+    @Test
+    public void parsesMultiLetterTiles() {
+        assertEquals(Arrays.asList("Qu", "Th", "?", "A"), Symbols.parseBoard("QuTh?a", 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsWrongTileCount() {
+        Symbols.parseBoard("abcdefgh", 9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonLatinLetters() {
+        Symbols.parseBoard("abcd\u00e9fghi", 9);
+    }
+
+    @Test
+    public void allowsTwoBlanks() {
+        assertEquals(2, countBlanks(Symbols.parseBoard("ab?d efgh ijkl mno*", 16)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsThirdBlankWhenParsing() {
+        Symbols.parseBoard("ab?d ef?h ijkl mno*", 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsThirdBlankOnPackedBoard() {
+        PackedBoard.parse("??cdefghi", 3, 3).withCode(8, Symbols.WILDCARD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsThirdBlankInSolver() {
+        new Boggle(new ArrayList<>(Arrays.asList("?", "?", "?", "d", "e", "f", "g", "h", "i")), 3, 3,
+                Trie.build(Arrays.asList("cat")));
+    }
+
+    private static int countBlanks(ArrayList<String> symbols) {
+        int blanks = 0;
+        for (String symbol : symbols) {
+            if (Symbols.isWildcard(Symbols.encode(symbol))) {
+                blanks++;
+            }
+        }
+        return blanks;
+    }
+}
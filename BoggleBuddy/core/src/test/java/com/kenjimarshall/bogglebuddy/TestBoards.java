@@ -0,0 +1,49 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Random boards and result comparison shared by the solver tests.
+ */
+class TestBoards {
+
+    // roughly English letter frequencies, so boards have plenty of words
+    private static final String LETTERS = "eeeeeeeeeeeetttttttttaaaaaaaaooooooooiiiiiiinnnnnnnssssssshhhhhhrrrrrr"
+            + "ddddlllllccccuuummmwwffggyyppbbvkjxqz";
+
+    private TestBoards() {}
+
+    /**
+     * @return tile symbols of a random board, with "Qu" for q
+     */
+    static ArrayList<String> random(Random random, int cellCount) {
+        ArrayList<String> symbols = new ArrayList<>(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            symbols.add(randomSymbol(random));
+        }
+        return symbols;
+    }
+
+    static String randomSymbol(Random random) {
+        char c = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        return c == 'q' ? "Qu" : String.valueOf(Character.toUpperCase(c));
+    }
+
+    /**
+     * @return the words of a solve keyed by length, without empty lengths, for comparing with equals
+     */
+    static TreeMap<Integer, List<String>> byLength(HashMap<Integer, String[]> words) {
+        TreeMap<Integer, List<String>> result = new TreeMap<>();
+        for (Integer length : words.keySet()) {
+            if (words.get(length).length > 0) {
+                result.put(length, Arrays.asList(words.get(length)));
+            }
+        }
+        return result;
+    }
+}
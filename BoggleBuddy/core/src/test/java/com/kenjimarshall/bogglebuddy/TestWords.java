@@ -0,0 +1,37 @@
+package com.kenjimarshall.bogglebuddy;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bundled NWL2018 word list, read once for all tests. Unit tests run from the module directory.
+ */
+class TestWords {
+
+    private static final String WORDLIST = "../app/src/main/assets/nwl2018.txt";
+
+    private static List<String> words;
+
+    private TestWords() {}
+
+    static synchronized List<String> get() throws IOException {
+        if (words == null) {
+            ArrayList<String> lines = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(WORDLIST), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } finally {
+                reader.close();
+            }
+            words = lines;
+        }
+        return words;
+    }
+}
@@ -0,0 +1,133 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TrieTest {
+
+    private static HashSet<String> words;
+    private static HashSet<String> prefixes;
+    private static Trie trie;
+    private static Trie dawg;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        words = new HashSet<>();
+        prefixes = new HashSet<>();
+        for (String word : TestWords.get()) {
+            word = word.trim().toLowerCase();
+            if (word.matches("[a-z]+")) {
+                words.add(word);
+                for (int i = 0; i <= word.length(); i++) {
+                    prefixes.add(word.substring(0, i));
+                }
+            }
+        }
+        trie = Trie.build(TestWords.get());
+        dawg = trie.minimize();
+    }
+
+    @Test
+    public void containsEveryWord() {
+        assertEquals(words.size(), trie.getWordCount());
+        for (String word : words) {
+            assertTrue(word, trie.contains(word));
+        }
+    }
+
+    @Test
+    public void matchesHashSetOnRandomStrings() {
+        assertMatchesHashSet(trie);
+    }
+
+    @Test
+    public void minimizedMatchesHashSet() {
+        assertEquals(trie.getWordCount(), dawg.getWordCount());
+        assertTrue(dawg.getNodeCount() < trie.getNodeCount() / 2);
+        for (String word : words) {
+            assertTrue(word, dawg.contains(word));
+        }
+        assertMatchesHashSet(dawg);
+    }
+
+    @Test
+    public void numbersWordsAlphabetically() {
+        ArrayList<String> sorted = new ArrayList<>(words);
+        Collections.sort(sorted);
+        for (Trie form : new Trie[] {trie, dawg}) {
+            for (int id = 0; id < sorted.size(); id++) {
+                assertEquals(id, form.wordId(sorted.get(id)));
+                assertEquals(sorted.get(id), form.word(id));
+            }
+            assertEquals(-1, form.wordId("zzzzq"));
+            assertEquals(-1, form.wordId("abacu")); // prefix of abacus
+        }
+    }
+
+    @Test
+    public void roundTripsThroughImage() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dawg.writeTo(out);
+        byte[] image = out.toByteArray();
+        ByteBuffer direct = ByteBuffer.allocateDirect(image.length);
+        direct.put(image).flip();
+
+        Trie loaded = Trie.fromImage(direct);
+        assertEquals(dawg.getWordCount(), loaded.getWordCount());
+        assertEquals(dawg.getNodeCount(), loaded.getNodeCount());
+        for (String word : words) {
+            assertTrue(word, loaded.contains(word));
+        }
+        assertMatchesHashSet(loaded);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedImage() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trie.writeTo(out);
+        Trie.fromImage(ByteBuffer.wrap(out.toByteArray(), 0, out.size() - 4));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherData() throws IOException {
+        Trie.fromImage(ByteBuffer.wrap("cat\ndog\nhouse\n".getBytes("UTF-8")));
+    }
+
+    private static void assertMatchesHashSet(Trie trie) {
+        Random random = new Random(1);
+        char[] buffer = new char[8];
+        for (int i = 0; i < 200000; i++) {
+            int length = 1 + random.nextInt(buffer.length);
+            for (int j = 0; j < length; j++) {
+                buffer[j] = (char) ('a' + random.nextInt(26));
+            }
+            String s = new String(buffer, 0, length);
+            assertEquals(s, words.contains(s), trie.contains(s));
+            assertEquals(s, prefixes.contains(s), trie.containsPrefix(s));
+        }
+    }
+
+    @Test
+    public void skipsInvalidEntries() {
+        Trie small = Trie.build(Arrays.asList("Cat", "cat", " dog ", "it's", "", "co-op"));
+        assertEquals(2, small.getWordCount());
+        assertTrue(small.contains("cat"));
+        assertTrue(small.contains("dog"));
+        assertFalse(small.contains("its"));
+        assertFalse(small.contains("ca"));
+        assertTrue(small.containsPrefix("ca"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.kenjimarshall.bogglebuddy;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class UncertainBoardTest {
+
+    private static Trie dictionary;
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        dictionary = Trie.build(TestWords.get());
+    }
+
+    @Test
+    public void multipliesConfidencesAlongWords() {
+        UncertainBoard board = new UncertainBoard(1, 3);
+        board.addCandidate(0, "C", 1.0);
+        board.addCandidate(1, "A", 0.9);
+        board.addCandidate(1, "O", 0.3);
+        board.addCandidate(2, "T", 1.0);
+
+        HashMap<String, Double> words = board.findWords(Trie.build(Arrays.asList("cat", "cot", "act", "tic")),
+                ScoringRules.OFFICIAL, 0.25);
+        assertEquals(2, words.size()); // "act" isn't a path
+        assertEquals(0.9, words.get("cat"), 1e-9);
+        assertEquals(0.3, words.get("cot"), 1e-9);
+        assertEquals(1, board.findWords(Trie.build(Arrays.asList("cat", "cot")), ScoringRules.OFFICIAL, 0.5).size());
+    }
+
+    @Test
+    public void certainBoardMatchesSolver() {
+        Random random = new Random(21);
+        Boggle solver = new Boggle(BoardGeometry.of(4, 4), dictionary);
+        for (int i = 0; i < 20; i++) {
+            ArrayList<String> symbols = TestBoards.random(random, 16);
+            UncertainBoard board = new UncertainBoard(4, 4);
+            for (int cell = 0; cell < 16; cell++) {
+                board.addCandidate(cell, symbols.get(cell), 1.0);
+            }
+            assertEquals(symbols, board.getMostLikelySymbols());
+
+            solver.setSymbols(symbols);
+            assertEquals(words(solver.findWords()), board.findWords(dictionary, solver.getRules(), 1.0).keySet());
+        }
+    }
+
+    @Test
+    public void matchesEveryChoiceOfCandidates() {
+        Random random = new Random(21);
+        Boggle solver = new Boggle(BoardGeometry.of(3, 3), dictionary);
+        for (int i = 0; i < 30; i++) {
+            ArrayList<String> symbols = TestBoards.random(random, 9);
+            String[] runnersUp = new String[9];
+            double[] runnerUpConfidence = new double[9];
+            UncertainBoard board = new UncertainBoard(3, 3);
+            for (int cell = 0; cell < 9; cell++) {
+                board.addCandidate(cell, symbols.get(cell), 1.0);
+                if (cell % 3 == i % 3) { // three uncertain tiles
+                    runnersUp[cell] = TestBoards.randomSymbol(random);
+                    runnerUpConfidence[cell] = random.nextDouble();
+                    board.addCandidate(cell, runnersUp[cell], runnerUpConfidence[cell]);
+                }
+            }
+
+            // every board the tiles could show
+            HashSet<String> expected = new HashSet<>();
+            for (int choice = 0; choice < 1 << 9; choice++) {
+                ArrayList<String> chosen = new ArrayList<>(symbols);
+                boolean valid = true;
+                for (int cell = 0; cell < 9; cell++) {
+                    if ((choice & 1 << cell) != 0) {
+                        valid &= runnersUp[cell] != null;
+                        chosen.set(cell, runnersUp[cell]);
+                    }
+                }
+                if (valid) {
+                    solver.setSymbols(chosen);
+                    expected.addAll(words(solver.findWords()));
+                }
+            }
+
+            HashMap<String, Double> all = board.findWords(dictionary, solver.getRules(), 0);
+            assertEquals(expected, all.keySet());
+
+            HashMap<String, Double> confident = board.findWords(dictionary, solver.getRules(), 0.5);
+            for (Map.Entry<String, Double> entry : all.entrySet()) {
+                if (entry.getValue() >= 0.5) {
+                    assertEquals(entry.getKey(), entry.getValue(), confident.get(entry.getKey()), 1e-12);
+                }
+            }
+            assertEquals(countAtLeast(all, 0.5), confident.size());
+        }
+    }
+
+    private static int countAtLeast(HashMap<String, Double> words, double minConfidence) {
+        int count = 0;
+        for (double confidence : words.values()) {
+            count += confidence >= minConfidence ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static HashSet<String> words(HashMap<Integer, String[]> byLength) {
+        HashSet<String> words = new HashSet<>();
+        for (String[] group : byLength.values()) {
+            words.addAll(Arrays.asList(group));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,146 @@
+package com.kenjimarshall.bogglebuddy.server;
+
+import com.kenjimarshall.bogglebuddy.PackedBoard;
+import com.kenjimarshall.bogglebuddy.SolveCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Handles /solve and /score. Responses are JSON:
+ *      /solve  {"board":["A",...,"Qu",...],"score":42,"words":{"3":["ace","act"],"4":[...]}}
+ *      /score  {"board":[...],"score":42}
+ *      errors  {"error":"..."} with status 400 (bad board) or 405 (bad method)
+ */
+class BoardHandler implements HttpHandler {
+
+    private static final int DEFAULT_SIZE = 4;
+    private static final int MAX_BODY = 1 << 12; // far more than any board needs
+
+    private final SolveCache cache;
+    private final boolean scoreOnly;
+
+    BoardHandler(SolveCache cache, boolean scoreOnly) {
+        this.cache = cache;
+        this.scoreOnly = scoreOnly;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("POST")) {
+                send(exchange, 405, error("Use GET or POST"));
+                return;
+            }
+
+            HashMap<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String response;
+            try {
+                String entry = method.equals("POST") ? readBody(exchange.getRequestBody()) : params.get("board");
+                if (entry == null) {
+                    throw new IllegalArgumentException("Missing board");
+                }
+                int size = params.containsKey("size") ? Integer.parseInt(params.get("size")) : DEFAULT_SIZE;
+                response = solve(PackedBoard.parse(entry, size, size));
+            } catch (IllegalArgumentException invalid) { // includes NumberFormatException
+                send(exchange, 400, error(invalid.getMessage()));
+                return;
+            }
+            send(exchange, 200, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String solve(PackedBoard board) {
+        SolveCache.Solution solution = this.cache.solve(board);
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"board\":");
+        appendArray(json, board.toSymbols());
+        json.append(",\"score\":").append(solution.getScore());
+
+        if (this.scoreOnly) {
+            return json.append('}').toString();
+        }
+
+        TreeMap<Integer, String[]> words = new TreeMap<>(solution.getWords()); // shortest words first
+        json.append(",\"words\":{");
+        boolean first = true;
+        for (Integer length : words.keySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(length).append("\":");
+            appendArray(json, Arrays.asList(words.get(length)));
+        }
+        json.append("}}");
+        return json.toString();
+    }
+
+    /**
+     * Words and symbols are plain letters, so they need no escaping.
+     */
+    private static void appendArray(StringBuilder json, List<String> values) {
+        json.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(values.get(i)).append('"');
+        }
+        json.append(']');
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(bytes);
+        out.close();
+    }
+
+    private static HashMap<String, String> parseQuery(String query) throws IOException {
+        HashMap<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"), URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+            }
+        }
+        return params;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[512];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            bytes.write(chunk, 0, read);
+            if (bytes.size() > MAX_BODY) {
+                throw new IllegalArgumentException("Board too long");
+            }
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.kenjimarshall.bogglebuddy.server;
+
+import com.kenjimarshall.bogglebuddy.DictionaryLoader;
+import com.kenjimarshall.bogglebuddy.ScoringRules;
+import com.kenjimarshall.bogglebuddy.SolveCache;
+import com.kenjimarshall.bogglebuddy.Trie;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server that solves boards against one shared, in-memory dictionary.
+ *
+ * Endpoints (GET with query parameters, or POST with the board as the body):
+ *      - /solve?board=ABCDEFGHIJKLMNOP    words on the board by length, and its score
+ *      - /score?board=ABCDEFGHIJKLMNOP    score only
+ * An optional size parameter selects the board size (default 4). Boards use the same format as the
+ * app's populate field; see Symbols.parseBoard. Unless the server is given other rules, each board is
+ * scored with the standard rules for its size, as in the app.
+ *
+ * Requests run on a fixed pool with one thread per core. The dictionary is read-only and each worker
+ * thread reuses its own Boggle. Results go through a SolveCache, so a board that was already solved, in
+ * any rotation or reflection, is answered without searching.
+ *
+ * Usage: SolverServer [--port N] [--threads N] [--cache N] <dictionary>
+ */
+public class SolverServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param dictionary dictionary shared by every request
+     * @param rules how boards are scored, or null for ScoringRules.forSize of each board's size
+     * @param port port to listen on, or 0 for any free port
+     * @param threads number of request threads
+     * @param cacheSize number of solved boards to keep
+     */
+    public SolverServer(Trie dictionary, ScoringRules rules, int port, int threads, int cacheSize) throws IOException {
+        SolveCache cache = new SolveCache(dictionary, rules, cacheSize);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/solve", new BoardHandler(cache, false));
+        this.server.createContext("/score", new BoardHandler(cache, true));
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stop accepting requests, give in-flight ones a second to finish, then stop the threads.
+     */
+    public void stop() {
+        this.server.stop(1);
+        this.executor.shutdown();
+    }
+
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int cacheSize = DEFAULT_CACHE_SIZE;
+        String dictionaryPath = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) {
+                port = Integer.parseInt(args[++i]);
+            }
+            else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            }
+            else if (args[i].equals("--cache") && i + 1 < args.length) {
+                cacheSize = Integer.parseInt(args[++i]);
+            }
+            else if (dictionaryPath == null) {
+                dictionaryPath = args[i];
+            }
+        }
+        if (dictionaryPath == null) {
+            System.err.println("Usage: SolverServer [--port N] [--threads N] [--cache N] <dictionary>");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        Trie dictionary = DictionaryLoader.load(Paths.get(dictionaryPath));
+        System.out.println("Loaded " + dictionary.getWordCount() + " words in " + (System.nanoTime() - start) / 1000000 + " ms");
+
+        final SolverServer server = new SolverServer(dictionary, null, port, threads, cacheSize);
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                server.stop();
+            }
+        });
+        server.start();
+        System.out.println("Listening on port " + server.getPort() + " with " + threads + " threads");
+    }
+}